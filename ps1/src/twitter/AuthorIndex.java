@@ -0,0 +1,132 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable index of a list of tweets by author. For each distinct author
+ * (case-insensitively) the index keeps the positions of that author's tweets,
+ * so finding a user's tweets takes time proportional to the number found.
+ */
+public class AuthorIndex {
+
+    private final List<Tweet> tweets;
+    private final UsernameDictionary users = new UsernameDictionary();
+    private final int[][] postings;
+
+    /*
+     * Abstraction function: indexes tweets; postings[id] lists, in ascending
+     *   order, the positions in tweets of the tweets whose author has id id
+     *   in users.
+     * Rep invariant: users holds exactly the authors of tweets;
+     *   postings.length == users.size(); the postings partition the positions.
+     * Safety from rep exposure: tweets is a private copy, users is never
+     *   returned, and postings arrays are copied before being returned.
+     */
+
+    /**
+     * Make an index over a list of tweets.
+     *
+     * @param tweets list of tweets, not modified by this method; later changes
+     *               to the list do not affect the index
+     */
+    public AuthorIndex(List<Tweet> tweets) {
+        this.tweets = new ArrayList<>(tweets);
+        int[] authorIds = users.internAuthors(this.tweets);
+        int[] counts = new int[users.size()];
+        for (int id : authorIds) {
+            counts[id]++;
+        }
+        this.postings = new int[users.size()][];
+        for (int id = 0; id < counts.length; id++) {
+            postings[id] = new int[counts[id]];
+            counts[id] = 0;
+        }
+        for (int position = 0; position < authorIds.length; position++) {
+            int id = authorIds[position];
+            postings[id][counts[id]++] = position;
+        }
+    }
+
+    /**
+     * Find tweets written by a particular user, as Filter.writtenBy does.
+     *
+     * @param username Twitter username. Comparison is case-insensitive.
+     * @return all and only the indexed tweets whose author is username, in the
+     *         same order as the indexed list; O(k) time for k results
+     */
+    public List<Tweet> writtenBy(String username) {
+        return tweetsAt(postings(username));
+    }
+
+    /**
+     * Find tweets written by any of several users.
+     *
+     * @param usernames Twitter usernames. Comparison is case-insensitive, and
+     *                  repeated usernames are ignored.
+     * @return all and only the indexed tweets whose author is one of
+     *         usernames, in the same order as the indexed list; O(u log u +
+     *         k log u) time for u usernames and k results
+     */
+    public List<Tweet> writtenBy(Collection<String> usernames) {
+        return tweetsAt(postings(usernames));
+    }
+
+    /**
+     * @param username Twitter username
+     * @return number of indexed tweets written by username, in O(1) time
+     */
+    public int count(String username) {
+        int id = users.lookup(username);
+        return id < 0 ? 0 : postings[id].length;
+    }
+
+    /**
+     * @param username Twitter username
+     * @return positions in the indexed list of the tweets written by username,
+     *         in ascending order
+     */
+    int[] postings(String username) {
+        int id = users.lookup(username);
+        return id < 0 ? new int[0] : postings[id].clone();
+    }
+
+    /**
+     * @param usernames Twitter usernames
+     * @return positions in the indexed list of the tweets written by any of
+     *         usernames, in ascending order
+     */
+    int[] postings(Collection<String> usernames) {
+        IntArrayList ids = new IntArrayList();
+        for (String username : usernames) {
+            int id = users.lookup(username);
+            if (id >= 0) {
+                ids.add(id);
+            }
+        }
+        List<int[]> lists = new ArrayList<>();
+        for (int id : ids.toSortedDistinctArray()) {
+            lists.add(postings[id]);
+        }
+        return PostingLists.union(lists);
+    }
+
+    /**
+     * @return the indexed tweets, in their original order
+     */
+    List<Tweet> tweets() {
+        return tweets;
+    }
+
+    private List<Tweet> tweetsAt(int[] positions) {
+        List<Tweet> result = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            result.add(tweets.get(position));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,193 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable summary of a list of tweets: the timespan, the mentioned users,
+ * the follows graph and the follower counts that Extract and SocialNetwork
+ * compute, all found in a single pass over the tweets.
+ */
+public class CorpusSummary {
+
+    private final int tweetCount;
+    private final Timespan timespan;
+    private final Set<String> mentionedUsers;
+    private final Map<String, Set<String>> followsGraph;
+    private final Map<String, Integer> followerCounts;
+    private final String[] users;
+    private final int[] counts;
+    private volatile List<String> influencers;
+
+    /*
+     * Abstraction function: summarizes a list of tweetCount tweets, with
+     *   timespan (null iff there are no tweets), mentionedUsers, followsGraph
+     *   and followerCounts as defined by the getters; users[i] has
+     *   counts[i] followers.
+     * Rep invariant: usernames are lowercase; the key set of followerCounts is
+     *   the set of elements of users, which is every key of followsGraph and
+     *   every user some key follows, and followerCounts maps users[i] to
+     *   counts[i]; influencers is null until first asked for, and then the
+     *   elements of users sorted as SocialNetwork.influencers sorts them.
+     * Safety from rep exposure: collections are unmodifiable, and those
+     *   inside followsGraph are too; arrays are never returned.
+     * Thread safety: influencers is only ever set to the same value, and is
+     *   volatile, so racing first calls at worst sort twice.
+     */
+
+    private CorpusSummary(int tweetCount, Timespan timespan, Set<String> mentionedUsers,
+                          Map<String, Set<String>> followsGraph, Map<String, Integer> followerCounts,
+                          String[] users, int[] counts) {
+        this.tweetCount = tweetCount;
+        this.timespan = timespan;
+        this.mentionedUsers = mentionedUsers;
+        this.followsGraph = followsGraph;
+        this.followerCounts = followerCounts;
+        this.users = users;
+        this.counts = counts;
+    }
+
+    /**
+     * Summarize a list of tweets. Each tweet is visited once, and its text is
+     * scanned for mentions once.
+     *
+     * @param tweets list of tweets with distinct ids, not modified by this method
+     * @return a summary of the tweets
+     */
+    public static CorpusSummary analyze(List<Tweet> tweets) {
+        UsernameDictionary users = new UsernameDictionary();
+        BitSet mentioned = new BitSet();
+        TimespanAccumulator times = new TimespanAccumulator();
+        int[][] follows = SocialNetwork.guessFollowsGraph(tweets, users, times::add, mentioned::set);
+
+        // the rest is proportional to the number of users and edges, not tweets
+        int[] counts = new int[users.size()];
+        boolean[] inGraph = new boolean[users.size()];
+        Map<String, Set<String>> graph = new HashMap<>();
+        for (int author = 0; author < follows.length; author++) {
+            if (follows[author] == null) continue;
+            inGraph[author] = true;
+            Set<String> names = new HashSet<>();
+            for (int followee : follows[author]) {
+                counts[followee]++;
+                inGraph[followee] = true;
+                names.add(users.name(followee));
+            }
+            graph.put(users.name(author), Collections.unmodifiableSet(names));
+        }
+
+        Set<String> mentionedNames = new HashSet<>();
+        for (int id = mentioned.nextSetBit(0); id >= 0; id = mentioned.nextSetBit(id + 1)) {
+            mentionedNames.add(users.name(id));
+        }
+
+        Map<String, Integer> followerCounts = new HashMap<>();
+        List<String> graphUsers = new ArrayList<>();
+        IntArrayList graphCounts = new IntArrayList();
+        for (int id = 0; id < counts.length; id++) {
+            if (inGraph[id]) {
+                followerCounts.put(users.name(id), counts[id]);
+                graphUsers.add(users.name(id));
+                graphCounts.add(counts[id]);
+            }
+        }
+
+        return new CorpusSummary(tweets.size(), times.count() == 0 ? null : times.get(),
+                Collections.unmodifiableSet(mentionedNames), Collections.unmodifiableMap(graph),
+                Collections.unmodifiableMap(followerCounts),
+                graphUsers.toArray(new String[0]), graphCounts.toArray());
+    }
+
+    /**
+     * @return number of tweets summarized
+     */
+    public int getTweetCount() {
+        return tweetCount;
+    }
+
+    /**
+     * @return a minimum-length time interval that contains the timestamp of
+     *         every tweet, as Extract.getTimespan returns
+     * @throws IllegalArgumentException if there were no tweets
+     */
+    public Timespan getTimespan() {
+        if (timespan == null) throw new IllegalArgumentException("no tweets not a spec");
+        return timespan;
+    }
+
+    /**
+     * @return the usernames mentioned in the tweets, in lowercase, as
+     *         Extract.getMentionedUsers returns; unmodifiable
+     */
+    public Set<String> getMentionedUsers() {
+        return mentionedUsers;
+    }
+
+    /**
+     * @return the follows graph guessed from the tweets, in lowercase, as
+     *         SocialNetwork.guessFollowsGraph returns; unmodifiable
+     */
+    public Map<String, Set<String>> getFollowsGraph() {
+        return followsGraph;
+    }
+
+    /**
+     * @return for every user in the follows graph (as a key or a followee),
+     *         the number of users who follow them; unmodifiable
+     */
+    public Map<String, Integer> getFollowerCounts() {
+        return followerCounts;
+    }
+
+    /**
+     * Sorts the users on the first call only, in O(n log n) time for n users.
+     *
+     * @return every user in the follows graph, in descending order of
+     *         follower count and then in alphabetical order, as
+     *         SocialNetwork.influencers(getFollowsGraph()) returns; unmodifiable
+     */
+    public List<String> getInfluencers() {
+        List<String> sorted = influencers;
+        if (sorted == null) {
+            List<String> names = new ArrayList<>(users.length);
+            for (int i : SocialNetwork.sortVertices(counts, v -> true, v -> users[v])) {
+                names.add(users[i]);
+            }
+            sorted = Collections.unmodifiableList(names);
+            influencers = sorted;
+        }
+        return sorted;
+    }
+
+    /**
+     * Find the most-followed users. Until getInfluencers() has been called,
+     * a small k is answered without sorting everyone, in O(n log k) time for
+     * n users; otherwise this takes O(k) time after getInfluencers().
+     *
+     * @param k number of users wanted, at least 0
+     * @return the first k elements (or all, if there are fewer) of
+     *         getInfluencers()
+     * @throws IllegalArgumentException if k < 0
+     */
+    public List<String> getTopInfluencers(int k) {
+        if (k < 0) throw new IllegalArgumentException("k must be nonnegative: " + k);
+        if (influencers != null || k > users.length / 16) {
+            List<String> sorted = getInfluencers();
+            return new ArrayList<>(sorted.subList(0, Math.min(k, sorted.size())));
+        }
+        List<String> top = new ArrayList<>();
+        for (int i : SocialNetwork.topVertices(counts, v -> true, v -> users[v], k)) {
+            top.add(users[i]);
+        }
+        return top;
+    }
+}
@@ -0,0 +1,163 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+/**
+ * Parses the created_at timestamps of the Twitter API, such as
+ * "Wed Feb 17 10:00:00 +0000 2016".
+ *
+ * Timestamps in the usual fixed layout are decoded straight from their
+ * characters into epoch seconds without creating any intermediate objects.
+ * Anything else, including offsets beyond +/-17:59, is handed to the general
+ * java.time parser with the same pattern TweetReader uses, so results (and
+ * errors) are the same as TweetReader's.
+ */
+public class CreatedAtParser {
+
+    /**
+     * The general format of a created_at timestamp.
+     */
+    public static final DateTimeFormatter FORMAT =
+            DateTimeFormatter.ofPattern("EEE MMM dd HH:mm:ss Z yyyy", Locale.US);
+
+    private static final int LENGTH = "Wed Feb 17 10:00:00 +0000 2016".length();
+    private static final String DAYS = "MonTueWedThuFriSatSun";
+    private static final String MONTHS = "JanFebMarAprMayJunJulAugSepOctNovDec";
+    private static final long DAYS_0000_TO_1970 = 719528;
+
+    /**
+     * @param createdAt a created_at timestamp
+     * @return the instant it denotes, as seconds since 1970-01-01T00:00:00Z
+     * @throws DateTimeParseException if createdAt is not a valid timestamp
+     */
+    public static long parseEpochSecond(CharSequence createdAt) {
+        long epochSecond = parseFixedLayout(createdAt);
+        if (epochSecond != Long.MIN_VALUE) {
+            return epochSecond;
+        }
+        return ZonedDateTime.parse(createdAt, FORMAT).toEpochSecond();
+    }
+
+    /**
+     * @param createdAt a created_at timestamp
+     * @return the instant it denotes
+     * @throws DateTimeParseException if createdAt is not a valid timestamp
+     */
+    public static Instant parseInstant(CharSequence createdAt) {
+        return Instant.ofEpochSecond(parseEpochSecond(createdAt));
+    }
+
+    /*
+     * Decode a timestamp in the fixed layout.
+     *
+     * @return epoch seconds, or Long.MIN_VALUE if s is not exactly in the
+     *         fixed layout with in-range fields, or its day of the week is wrong
+     */
+    private static long parseFixedLayout(CharSequence s) {
+        if (s.length() != LENGTH
+                || s.charAt(3) != ' ' || s.charAt(7) != ' ' || s.charAt(10) != ' '
+                || s.charAt(13) != ':' || s.charAt(16) != ':' || s.charAt(19) != ' '
+                || s.charAt(25) != ' ') {
+            return Long.MIN_VALUE;
+        }
+        int dayOfWeek = indexOfName(DAYS, s, 0);
+        int month = indexOfName(MONTHS, s, 4) + 1;
+        int day = digits(s, 8, 2);
+        int hour = digits(s, 11, 2);
+        int minute = digits(s, 14, 2);
+        int second = digits(s, 17, 2);
+        int offsetHours = digits(s, 21, 2);
+        int offsetMinutes = digits(s, 23, 2);
+        int year = digits(s, 26, 4);
+        char sign = s.charAt(20);
+        if (dayOfWeek < 0 || month <= 0 || day < 1 || hour < 0 || hour > 23
+                || minute < 0 || minute > 59 || second < 0 || second > 59
+                || offsetHours < 0 || offsetHours > 17 || offsetMinutes < 0 || offsetMinutes > 59
+                || year < 1 || (sign != '+' && sign != '-')
+                || day > lengthOfMonth(year, month)) {
+            return Long.MIN_VALUE;
+        }
+        long epochDay = epochDay(year, month, day);
+        if (Math.floorMod(epochDay + 3, 7) != dayOfWeek) {
+            return Long.MIN_VALUE;
+        }
+        int offset = offsetHours * 3600 + offsetMinutes * 60;
+        if (sign == '-') {
+            offset = -offset;
+        }
+        return epochDay * 86400 + hour * 3600 + minute * 60 + second - offset;
+    }
+
+    /*
+     * @return index (from 0) of the three-letter name at s[start..start+3) in
+     *         names, or -1 if it is not one of them
+     */
+    private static int indexOfName(String names, CharSequence s, int start) {
+        for (int i = 0; i < names.length(); i += 3) {
+            if (names.charAt(i) == s.charAt(start)
+                    && names.charAt(i + 1) == s.charAt(start + 1)
+                    && names.charAt(i + 2) == s.charAt(start + 2)) {
+                return i / 3;
+            }
+        }
+        return -1;
+    }
+
+    /*
+     * @return the decimal value of s[start..start+count), or -1 if any of
+     *         those characters is not an ASCII digit
+     */
+    private static int digits(CharSequence s, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isLeapYear(long year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+        case 2:
+            return isLeapYear(year) ? 29 : 28;
+        case 4:
+        case 6:
+        case 9:
+        case 11:
+            return 30;
+        default:
+            return 31;
+        }
+    }
+
+    /*
+     * Same computation as LocalDate.toEpochDay, for years >= 1.
+     */
+    private static long epochDay(int year, int month, int day) {
+        long y = year;
+        long total = 365 * y + (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (!isLeapYear(year)) {
+                total--;
+            }
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+}
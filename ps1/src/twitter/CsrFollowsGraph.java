@@ -0,0 +1,341 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+/**
+ * An immutable social network (as defined by SocialNetwork) stored in
+ * compressed sparse row form: users are dense int vertex ids 0 to
+ * vertexCount() - 1, and the users each vertex follows are one sorted run of
+ * a single int array. Memory is about 4 bytes per edge and a few words per
+ * user, with no boxing.
+ *
+ * Usernames are case-insensitive; each vertex's name is the lowercase form.
+ */
+public class CsrFollowsGraph {
+
+    private final UsernameDictionary users;
+    private final boolean[] hasEntry;
+    private final int[] offsets;
+    private final int[] neighbours;
+
+    /*
+     * Abstraction function: a social network whose users are
+     *   users.name(v) for 0 <= v < users.size(); v follows exactly the
+     *   vertices neighbours[offsets[v] .. offsets[v+1]); v is a key of the
+     *   network (possibly following nobody) iff hasEntry[v]; any elements of
+     *   neighbours past offsets[users.size()] are unused.
+     * Rep invariant:
+     *   offsets.length == hasEntry.length + 1 == users.size() + 1;
+     *     offsets[0] == 0, offsets is nondecreasing, and
+     *     offsets[users.size()] <= neighbours.length
+     *   each run of neighbours is strictly increasing and holds vertex ids
+     *   a vertex that follows anybody has hasEntry set
+     * Safety from rep exposure: users is never returned or modified after
+     *   construction; arrays are never returned, only copies.
+     */
+
+    private CsrFollowsGraph(UsernameDictionary users, boolean[] hasEntry, int[] offsets, int[] neighbours) {
+        this.users = users;
+        this.hasEntry = hasEntry;
+        this.offsets = offsets;
+        this.neighbours = neighbours;
+    }
+
+    /**
+     * Guess who might follow whom from tweets, as
+     * SocialNetwork.guessFollowsGraph does.
+     *
+     * Makes two passes over the tweets, one to size each row and one to fill
+     * it, so edges go straight into the final array and no per-author lists
+     * are built.
+     *
+     * @param tweets a list of tweets providing the evidence, not modified by
+     *               this method
+     * @return the graph equal to SocialNetwork.guessFollowsGraph(tweets)
+     */
+    public static CsrFollowsGraph fromTweets(List<Tweet> tweets) {
+        UsernameDictionary users = new UsernameDictionary();
+        boolean[] hasEntry = new boolean[16];
+        int[] degree = new int[16];
+        int[] mentions = new int[1];
+
+        // count each author's mentions of others, repeats included
+        for (Tweet t : tweets) {
+            if (t == null || t.getAuthor() == null) continue;
+            int author = users.intern(t.getAuthor());
+            mentions[0] = 0;
+            MentionScanner.forEachMentionId(t.getText(), users, followee -> {
+                if (followee != author) {
+                    mentions[0]++;
+                }
+            });
+            if (author >= degree.length) {
+                int length = Math.max(2 * degree.length, author + 1);
+                hasEntry = Arrays.copyOf(hasEntry, length);
+                degree = Arrays.copyOf(degree, length);
+            }
+            hasEntry[author] = true;
+            degree[author] += mentions[0];
+        }
+
+        int n = users.size();
+        int[] offsets = new int[n + 1];
+        long edges = 0;
+        for (int v = 0; v < n; v++) {
+            edges += v < degree.length ? degree[v] : 0;
+            if (edges > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("too many edges for one graph: " + edges);
+            }
+            offsets[v + 1] = (int) edges;
+        }
+
+        // fill the rows; every username is interned already, so ids match
+        int[] neighbours = new int[(int) edges];
+        int[] next = Arrays.copyOf(offsets, n);
+        for (Tweet t : tweets) {
+            if (t == null || t.getAuthor() == null) continue;
+            int author = users.intern(t.getAuthor());
+            MentionScanner.forEachMentionId(t.getText(), users, followee -> {
+                if (followee != author) {
+                    neighbours[next[author]++] = followee;
+                }
+            });
+        }
+
+        return new CsrFollowsGraph(users, Arrays.copyOf(hasEntry, n), offsets, sortRows(offsets, neighbours));
+    }
+
+    /**
+     * Build a graph from a list of edges, repeats allowed.
+     *
+     * @param users dictionary holding every user in the graph; not modified,
+     *              and owned by the graph afterwards
+     * @param authors ids of the users that are keys of the graph, repeats
+     *                allowed; not modified
+     * @param from ids of the follower of each edge; not modified
+     * @param to ids of the followee of each edge, as many as from; not
+     *           modified
+     * @return the graph with those keys and edges
+     */
+    static CsrFollowsGraph fromEdges(UsernameDictionary users, IntArrayList authors, IntArrayList from, IntArrayList to) {
+        int n = users.size();
+        boolean[] hasEntry = new boolean[n];
+        for (int i = 0; i < authors.size(); i++) {
+            hasEntry[authors.get(i)] = true;
+        }
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < from.size(); i++) {
+            offsets[from.get(i) + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] neighbours = new int[from.size()];
+        int[] next = Arrays.copyOf(offsets, n);
+        for (int i = 0; i < from.size(); i++) {
+            neighbours[next[from.get(i)]++] = to.get(i);
+        }
+        return new CsrFollowsGraph(users, hasEntry, offsets, sortRows(offsets, neighbours));
+    }
+
+    /*
+     * Sort each row of neighbours and drop repeats, sliding rows down in
+     * place and updating offsets to match.
+     * @return neighbours, or a trimmed copy if repeats took more than an
+     *         eighth of it; a little slack is kept rather than copying again
+     */
+    private static int[] sortRows(int[] offsets, int[] neighbours) {
+        int n = offsets.length - 1;
+        int end = 0;
+        for (int v = 0; v < n; v++) {
+            int from = offsets[v];
+            int to = offsets[v + 1];
+            Arrays.sort(neighbours, from, to);
+            offsets[v] = end;
+            for (int i = from; i < to; i++) {
+                if (i == from || neighbours[i] != neighbours[i - 1]) {
+                    neighbours[end++] = neighbours[i];
+                }
+            }
+        }
+        offsets[n] = end;
+        return neighbours.length - end > neighbours.length / 8 ? Arrays.copyOf(neighbours, end) : neighbours;
+    }
+
+    /**
+     * Convert a social network from its Map representation.
+     *
+     * @param followsGraph a social network (as defined by SocialNetwork), not
+     *                     modified by this method; keys or followees that
+     *                     differ only in case are merged
+     * @return the same network in CSR form
+     */
+    public static CsrFollowsGraph fromMap(Map<String, Set<String>> followsGraph) {
+        UsernameDictionary users = new UsernameDictionary();
+        List<IntArrayList> lists = new ArrayList<>();
+        for (Map.Entry<String, Set<String>> e : followsGraph.entrySet()) {
+            int v = users.intern(e.getKey());
+            while (lists.size() < users.size()) {
+                lists.add(null);
+            }
+            if (lists.get(v) == null) {
+                lists.set(v, new IntArrayList());
+            }
+            IntArrayList followees = lists.get(v);
+            for (String followee : e.getValue()) {
+                followees.add(users.intern(followee));
+            }
+        }
+        int n = users.size();
+        boolean[] hasEntry = new boolean[n];
+        int[] offsets = new int[n + 1];
+        IntArrayList neighbours = new IntArrayList();
+        for (int v = 0; v < n; v++) {
+            if (v < lists.size() && lists.get(v) != null) {
+                hasEntry[v] = true;
+                for (int followee : lists.get(v).toSortedDistinctArray()) {
+                    neighbours.add(followee);
+                }
+                lists.set(v, null);
+            }
+            offsets[v + 1] = neighbours.size();
+        }
+        return new CsrFollowsGraph(users, hasEntry, offsets, neighbours.toArray());
+    }
+
+    /**
+     * @return this network in the Map representation of SocialNetwork, with
+     *         lowercase usernames; a new map, not shared with this graph
+     */
+    public Map<String, Set<String>> toMap() {
+        Map<String, Set<String>> map = new HashMap<>();
+        for (int v = 0; v < hasEntry.length; v++) {
+            if (!hasEntry[v]) continue;
+            Set<String> followees = new HashSet<>();
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                followees.add(users.name(neighbours[i]));
+            }
+            map.put(users.name(v), followees);
+        }
+        return map;
+    }
+
+    /**
+     * @return number of users in this network, as keys or followees
+     */
+    public int vertexCount() {
+        return hasEntry.length;
+    }
+
+    /**
+     * @return number of follows relationships in this network
+     */
+    public int edgeCount() {
+        return offsets[hasEntry.length];
+    }
+
+    /**
+     * @param username a Twitter username
+     * @return the vertex id of username, or -1 if it is not in this network
+     */
+    public int vertex(String username) {
+        return users.lookup(username);
+    }
+
+    /**
+     * @param v a vertex id, 0 <= v < vertexCount()
+     * @return the lowercase username of v
+     */
+    public String name(int v) {
+        return users.name(v);
+    }
+
+    /**
+     * @param v a vertex id, 0 <= v < vertexCount()
+     * @return true iff v is a key of this network, that is, an author in the
+     *         tweets it was guessed from
+     */
+    public boolean hasEntry(int v) {
+        return hasEntry[v];
+    }
+
+    /**
+     * @param v a vertex id, 0 <= v < vertexCount()
+     * @return number of users v follows
+     */
+    public int outDegree(int v) {
+        return offsets[v + 1] - offsets[v];
+    }
+
+    /**
+     * @param v a vertex id, 0 <= v < vertexCount()
+     * @param i index of a followee, 0 <= i < outDegree(v)
+     * @return the i-th user v follows, in ascending order of vertex id
+     */
+    public int neighbour(int v, int i) {
+        if (i < 0 || i >= outDegree(v)) {
+            throw new IndexOutOfBoundsException("neighbour " + i + " of " + outDegree(v));
+        }
+        return neighbours[offsets[v] + i];
+    }
+
+    /**
+     * @param v a vertex id, 0 <= v < vertexCount()
+     * @param sink receives each user v follows, in ascending order of vertex id
+     */
+    public void forEachNeighbour(int v, IntConsumer sink) {
+        for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+            sink.accept(neighbours[i]);
+        }
+    }
+
+    /**
+     * @param v a vertex id, 0 <= v < vertexCount()
+     * @return the users v follows, in ascending order of vertex id
+     */
+    public int[] neighbours(int v) {
+        return Arrays.copyOfRange(neighbours, offsets[v], offsets[v + 1]);
+    }
+
+    /**
+     * @param from a vertex id, 0 <= from < vertexCount()
+     * @param to a vertex id
+     * @return true iff from follows to; O(log outDegree(from)) time
+     */
+    public boolean hasEdge(int from, int to) {
+        return Arrays.binarySearch(neighbours, offsets[from], offsets[from + 1], to) >= 0;
+    }
+
+    /**
+     * @param follower a Twitter username
+     * @param followee a Twitter username
+     * @return true iff follower follows followee in this network
+     */
+    public boolean follows(String follower, String followee) {
+        int from = vertex(follower);
+        int to = vertex(followee);
+        return from >= 0 && to >= 0 && hasEdge(from, to);
+    }
+
+    /**
+     * @return an array with one element per vertex: the number of users who
+     *         follow that vertex
+     */
+    public int[] followerCounts() {
+        int[] counts = new int[vertexCount()];
+        for (int i = 0; i < edgeCount(); i++) {
+            counts[neighbours[i]]++;
+        }
+        return counts;
+    }
+}
@@ -4,11 +4,12 @@
 package twitter;
 
 import java.time.Instant;
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Extract consists of methods that extract information from a list of tweets.
@@ -41,6 +42,50 @@ public class Extract {
         
     }
 
+    /**
+     * Get the time period spanned by tweets, scanning in parallel.
+     * 
+     * @param tweets
+     *            list of tweets with distinct ids, not modified by this method.
+     * @param pool
+     *            pool to scan on; small lists are scanned on the calling thread.
+     * @return a minimum-length time interval that contains the timestamp of
+     *         every tweet in the list.
+     */
+    public static Timespan getTimespan(List<Tweet> tweets, ForkJoinPool pool) {
+        return ParallelScan.reduce(tweets, pool, Extract::getTimespan, (left, right) -> {
+            Instant start = left.getStart().isAfter(right.getStart()) ? right.getStart() : left.getStart();
+            Instant end = left.getEnd().isBefore(right.getEnd()) ? right.getEnd() : left.getEnd();
+            return new Timespan(start, end);
+        });
+    }
+
+    /**
+     * Get the time period spanned by indexed tweets, in constant time.
+     * 
+     * @param index
+     *            a time index over a nonempty list of tweets.
+     * @return a minimum-length time interval that contains the timestamp of
+     *         every indexed tweet.
+     */
+    public static Timespan getTimespan(TimeIndex index) {
+        return index.getTimespan();
+    }
+
+    /**
+     * Get the time period spanned by the tweets in a store.
+     * 
+     * @param store
+     *            a nonempty store of tweets.
+     * @return a minimum-length time interval that contains the timestamp of
+     *         every tweet in the store.
+     */
+    public static Timespan getTimespan(TweetStore store) {
+        if (store.size() == 0) throw new IllegalArgumentException("no tweets not a spec");
+        return new Timespan(store.getTimestamp(store.earliestRow(0, store.size())),
+                            store.getTimestamp(store.latestRow(0, store.size())));
+    }
+
     /**
      * Get usernames mentioned in a list of tweets.
      * 
@@ -57,17 +102,94 @@ public class Extract {
      *         include a username at most once.
      */
     public static Set<String> getMentionedUsers(List<Tweet> tweets) {
-        		Set<String> users= new HashSet<>();
-        		Pattern p = Pattern.compile("(?i)(?<![A-Za-z0-9_])@([A-Za-z0-9_]+)");
-        	for (Tweet t:tweets) {
-        		Matcher m=p.matcher(t.getText());
-        		while(m.find()) {
-        			users.add(m.group(1).toLowerCase());
-        		}
-        	}
-            
-    return users;
+        UsernameDictionary users = new UsernameDictionary();
+        BitSet ids = getMentionedUserIds(tweets, users);
+        Set<String> names = new HashSet<>();
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            names.add(users.name(id));
+        }
+        return names;
+    }
+
+    /**
+     * Get usernames mentioned in a list of tweets, scanning in parallel.
+     * 
+     * @param tweets
+     *            list of tweets with distinct ids, not modified by this method.
+     * @param pool
+     *            pool to scan on; small lists are scanned on the calling thread.
+     * @return the set of usernames who are mentioned in the text of the tweets,
+     *         as for getMentionedUsers(tweets).
+     */
+    public static Set<String> getMentionedUsers(List<Tweet> tweets, ForkJoinPool pool) {
+        return ParallelScan.reduce(tweets, pool, Extract::getMentionedUsers, (left, right) -> {
+            Set<String> larger = left.size() >= right.size() ? left : right;
+            larger.addAll(larger == left ? right : left);
+            return larger;
+        });
+    }
+
+    /**
+     * Estimate the number of usernames mentioned in a list of tweets, in
+     * memory that does not grow with the number of users.
+     * 
+     * @param tweets
+     *            list of tweets with distinct ids, not modified by this method.
+     * @param precision
+     *            precision of the sketch, from HyperLogLog.MIN_PRECISION to
+     *            MAX_PRECISION; the sketch takes 2^precision bytes.
+     * @return a sketch of the usernames mentioned in the tweets, with mentions
+     *         defined as for getMentionedUsers(); its estimate() approximates
+     *         getMentionedUsers(tweets).size() to within about
+     *         standardError() relative error.
+     */
+    public static HyperLogLog estimateMentionedUsers(List<Tweet> tweets, int precision) {
+        HyperLogLog sketch = new HyperLogLog(precision);
+        for (Tweet t : tweets) {
+            sketch.addMentions(t);
+        }
+        return sketch;
+    }
+
+    /**
+     * Get the ids of usernames mentioned in a list of tweets.
+     * 
+     * @param tweets
+     *            list of tweets with distinct ids, not modified by this method.
+     * @param users
+     *            dictionary to intern mentioned usernames into.
+     * @return the set of ids in users of the usernames mentioned in the text of
+     *         the tweets, with mentions defined as for getMentionedUsers().
+     */
+    public static BitSet getMentionedUserIds(List<Tweet> tweets, UsernameDictionary users) {
+        BitSet ids = new BitSet();
+        for (Tweet t : tweets) {
+            MentionScanner.forEachMentionId(t.getText(), users, ids::set);
+        }
+        return ids;
+    }
+
+    /**
+     * Get hashtags used in a list of tweets.
+     * 
+     * @param tweets
+     *            list of tweets with distinct ids, not modified by this method.
+     * @return the set of hashtags, without the "#" and in lowercase, that
+     *         appear in the text of the tweets. A hashtag is "#" followed by
+     *         one or more characters valid in a Twitter username, not all of
+     *         them digits, and cannot be immediately preceded or followed by
+     *         any character valid in a Twitter username (so "a#b" and "#1"
+     *         contain no hashtag). Hashtags are case-insensitive, and the
+     *         returned set may include a hashtag at most once.
+     */
+    public static Set<String> getHashtags(List<Tweet> tweets) {
+        Set<String> hashtags = new HashSet<>();
+        for (Tweet t : tweets) {
+            String text = t.getText();
+            MentionScanner.forEachHashtag(text, (start, end) ->
+                    hashtags.add(text.substring(start, end).toLowerCase(Locale.ROOT)));
+        }
+        return hashtags;
     }
-    
     
 }
@@ -7,9 +7,11 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Filter consists of methods that filter a list of tweets for those matching a
@@ -41,6 +43,59 @@ public class Filter {
         return result;
     }
 
+    /**
+     * Find tweets written by a particular user, scanning in parallel.
+     *
+     * @param tweets   a list of tweets with distinct ids, not modified by this method.
+     * @param username Twitter username (assumed valid). Comparison is case-insensitive.
+     * @param pool     pool to scan on; small lists are scanned on the calling thread.
+     * @return all and only the tweets whose author is username, in the same order.
+     */
+    public static List<Tweet> writtenBy(List<Tweet> tweets, String username, ForkJoinPool pool) {
+        if (tweets == null || username == null || pool == null) {
+            throw new IllegalArgumentException("tweets, username and pool must be non-null");
+        }
+        return ParallelScan.reduce(tweets, pool, part -> writtenBy(part, username), ParallelScan::concat);
+    }
+
+    /**
+     * Find indexed tweets written by a particular user.
+     *
+     * @param index    an author index over a list of tweets with distinct ids.
+     * @param username Twitter username (assumed valid). Comparison is case-insensitive.
+     * @return all and only the indexed tweets whose author is username, in the
+     *         same order as the indexed list.
+     */
+    public static List<Tweet> writtenBy(AuthorIndex index, String username) {
+        if (index == null || username == null) {
+            throw new IllegalArgumentException("index and username must be non-null");
+        }
+        return index.writtenBy(username);
+    }
+
+    /**
+     * Find tweets written by a particular user, given interned authors.
+     *
+     * @param tweets    a list of tweets with distinct ids, not modified by this method.
+     * @param authorIds authorIds[i] is the id of the author of tweets.get(i), as
+     *                  returned by UsernameDictionary.internAuthors(tweets).
+     * @param userId    id, in the same dictionary, of the user to find.
+     * @return all and only the tweets whose author has id userId, in the same order.
+     */
+    public static List<Tweet> writtenBy(List<Tweet> tweets, int[] authorIds, int userId) {
+        if (tweets == null || authorIds == null || authorIds.length != tweets.size()) {
+            throw new IllegalArgumentException("need one author id per tweet");
+        }
+        List<Tweet> result = new ArrayList<>();
+        int i = 0;
+        for (Tweet t : tweets) {
+            if (authorIds[i++] == userId) {
+                result.add(t);
+            }
+        }
+        return result;
+    }
+
     /**
      * Find tweets that were sent during a particular timespan (inclusive).
      *
@@ -66,6 +121,69 @@ public class Filter {
         return result;
     }
 
+    /**
+     * Find tweets that were sent during a particular timespan (inclusive),
+     * scanning in parallel.
+     *
+     * @param tweets   a list of tweets with distinct ids, not modified by this method.
+     * @param timespan timespan
+     * @param pool     pool to scan on; small lists are scanned on the calling thread.
+     * @return all and only the tweets that were sent during the timespan,
+     *         in the same order as the input list.
+     */
+    public static List<Tweet> inTimespan(List<Tweet> tweets, Timespan timespan, ForkJoinPool pool) {
+        if (tweets == null || timespan == null || pool == null) {
+            throw new IllegalArgumentException("tweets, timespan and pool must be non-null");
+        }
+        return ParallelScan.reduce(tweets, pool, part -> inTimespan(part, timespan), ParallelScan::concat);
+    }
+
+    /**
+     * Find tweets in a store written by a particular user.
+     *
+     * @param store    a store of tweets.
+     * @param username Twitter username (assumed valid). Comparison is case-insensitive.
+     * @return the rows of all and only the tweets whose author is username, in
+     *         ascending order.
+     */
+    public static int[] writtenBy(TweetStore store, String username) {
+        if (store == null || username == null) {
+            throw new IllegalArgumentException("store and username must be non-null");
+        }
+        int userId = store.getUsers().lookup(username);
+        return userId < 0 ? new int[0] : store.rowsByAuthor(userId);
+    }
+
+    /**
+     * Find indexed tweets that were sent during a particular timespan (inclusive).
+     *
+     * @param index    a time index over a list of tweets with distinct ids.
+     * @param timespan timespan
+     * @return all and only the indexed tweets that were sent during the timespan,
+     *         in the same order as the indexed list.
+     */
+    public static List<Tweet> inTimespan(TimeIndex index, Timespan timespan) {
+        if (index == null || timespan == null) {
+            throw new IllegalArgumentException("index and timespan must be non-null");
+        }
+        return index.inTimespan(timespan);
+    }
+
+    /**
+     * Find tweets in a store that were sent during a particular timespan (inclusive).
+     *
+     * @param store    a store of tweets.
+     * @param timespan timespan
+     * @return the rows of all and only the tweets that were sent during the
+     *         timespan, in ascending order.
+     */
+    public static int[] inTimespan(TweetStore store, Timespan timespan) {
+        if (store == null || timespan == null) {
+            throw new IllegalArgumentException("store and timespan must be non-null");
+        }
+        return store.rowsBetween(timespan.getStart(), timespan.getEnd());
+    }
+
     /**
      * Find tweets that contain certain words.
      *
@@ -113,4 +231,154 @@ public class Filter {
         return result;
     }
 
+    /**
+     * Find tweets that contain certain words, scanning in parallel.
+     *
+     * @param tweets a list of tweets with distinct ids, not modified by this method.
+     * @param words  a list of words to search for in the tweets.
+     *               Word comparison is not case-sensitive. Words are matched as whole words only.
+     * @param pool   pool to scan on; small lists are scanned on the calling thread.
+     * @return all and only the tweets that include at least one of the words (case-insensitive),
+     *         matching whole words; returned in the same order as input.
+     */
+    public static List<Tweet> containing(List<Tweet> tweets, List<String> words, ForkJoinPool pool) {
+        if (tweets == null || words == null || pool == null) {
+            throw new IllegalArgumentException("tweets, words and pool must be non-null");
+        }
+        if (tweets.size() <= ParallelScan.SEQUENTIAL_THRESHOLD) {
+            return containing(tweets, words);
+        }
+        // the matcher is immutable, so one instance is shared by every task
+        KeywordMatcher matcher = new KeywordMatcher(words);
+        return ParallelScan.reduce(tweets, pool, matcher::filter, ParallelScan::concat);
+    }
+
+    /**
+     * Find tweets that contain any of the words of a prebuilt matcher.
+     *
+     * @param tweets  a list of tweets with distinct ids, not modified by this method.
+     * @param matcher a matcher built from a list of words; results are the same as
+     *                containing(tweets, words) for that list.
+     * @return all and only the tweets that include at least one of the words (case-insensitive),
+     *         matching whole words; returned in the same order as input.
+     */
+    public static List<Tweet> containing(List<Tweet> tweets, KeywordMatcher matcher) {
+        if (tweets == null || matcher == null) {
+            throw new IllegalArgumentException("tweets and matcher must be non-null");
+        }
+        return matcher.filter(tweets);
+    }
+
+    /**
+     * Find indexed tweets that contain certain words.
+     *
+     * @param index a word index over a list of tweets with distinct ids.
+     * @param words a list of words to search for in the tweets.
+     *              Word comparison is not case-sensitive. Words are matched as whole words only.
+     * @return all and only the indexed tweets that include at least one of the words
+     *         (case-insensitive), matching whole words; returned in the same order as
+     *         the indexed list.
+     */
+    public static List<Tweet> containing(WordIndex index, List<String> words) {
+        if (index == null || words == null) {
+            throw new IllegalArgumentException("index and words must be non-null");
+        }
+        return index.containing(words);
+    }
+
+    /**
+     * Find tweets that match a query, in one pass.
+     *
+     * @param tweets a list of tweets with distinct ids, not modified by this method.
+     * @param query  a query combining the conditions of this class's methods.
+     * @return all and only the tweets that match query, in the same order as input;
+     *         the same as the equivalent chain of calls to this class's methods.
+     */
+    public static List<Tweet> matching(List<Tweet> tweets, TweetQuery query) {
+        if (tweets == null || query == null) {
+            throw new IllegalArgumentException("tweets and query must be non-null");
+        }
+        return query.filter(tweets);
+    }
+
+    /**
+     * Find indexed tweets that match a query, using the most selective index
+     * the query can use.
+     *
+     * @param indexes indexes over a list of tweets with distinct ids.
+     * @param query   a query combining the conditions of this class's methods.
+     * @return all and only the indexed tweets that match query, in the same order
+     *         as the indexed list.
+     */
+    public static List<Tweet> matching(TweetIndexes indexes, TweetQuery query) {
+        if (indexes == null || query == null) {
+            throw new IllegalArgumentException("indexes and query must be non-null");
+        }
+        return query.filter(indexes);
+    }
+
+    /**
+     * Find tweets written by a particular user, lazily: tweets are tested only
+     * as the stream is consumed, so short-circuiting operations such as limit,
+     * findFirst and anyMatch stop scanning once they have their answer.
+     *
+     * @param tweets   a list of tweets with distinct ids, not modified while the stream is used.
+     * @param username Twitter username (assumed valid). Comparison is case-insensitive.
+     * @return a sequential stream of all and only the tweets whose author is
+     *         username, in the same order as writtenBy(tweets, username).
+     */
+    public static Stream<Tweet> streamWrittenBy(List<Tweet> tweets, String username) {
+        if (tweets == null || username == null) {
+            throw new IllegalArgumentException("tweets and username must be non-null");
+        }
+        return stream(tweets, TweetQuery.writtenBy(username));
+    }
+
+    /**
+     * Find tweets that were sent during a particular timespan (inclusive),
+     * lazily, as streamWrittenBy does.
+     *
+     * @param tweets   a list of tweets with distinct ids, not modified while the stream is used.
+     * @param timespan timespan
+     * @return a sequential stream of all and only the tweets that were sent
+     *         during the timespan, in the same order as inTimespan(tweets, timespan).
+     */
+    public static Stream<Tweet> streamInTimespan(List<Tweet> tweets, Timespan timespan) {
+        if (tweets == null || timespan == null) {
+            throw new IllegalArgumentException("tweets and timespan must be non-null");
+        }
+        return stream(tweets, TweetQuery.inTimespan(timespan));
+    }
+
+    /**
+     * Find tweets that contain certain words, lazily, as streamWrittenBy does.
+     *
+     * @param tweets a list of tweets with distinct ids, not modified while the stream is used.
+     * @param words  a list of words to search for in the tweets.
+     *               Word comparison is not case-sensitive. Words are matched as whole words only.
+     * @return a sequential stream of all and only the tweets that include at
+     *         least one of the words, in the same order as containing(tweets, words).
+     */
+    public static Stream<Tweet> streamContaining(List<Tweet> tweets, List<String> words) {
+        if (tweets == null || words == null) {
+            throw new IllegalArgumentException("tweets and words must be non-null");
+        }
+        return stream(tweets, TweetQuery.containing(words));
+    }
+
+    /**
+     * Find tweets that match a query, lazily, as streamWrittenBy does.
+     *
+     * @param tweets a list of tweets with distinct ids, not modified while the stream is used.
+     * @param query  a query combining the conditions of this class's methods.
+     * @return a sequential stream of all and only the tweets that match query,
+     *         in the same order as matching(tweets, query).
+     */
+    public static Stream<Tweet> stream(List<Tweet> tweets, TweetQuery query) {
+        if (tweets == null || query == null) {
+            throw new IllegalArgumentException("tweets and query must be non-null");
+        }
+        return tweets.stream().filter(query::matches);
+    }
+
 }
@@ -0,0 +1,334 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A mutable social network (as defined by SocialNetwork) guessed from a
+ * changing collection of tweets. Tweets can be added and removed one at a
+ * time; the follows relation and every user's follower count are kept current,
+ * at a cost per update proportional to the number of mentions in the tweet.
+ *
+ * Each mention of B in a tweet by A is one piece of evidence that A follows B,
+ * and the graph counts them; A stops following B only when the last tweet
+ * with such a mention is removed. At any moment toMap() equals
+ * SocialNetwork.guessFollowsGraph of the tweets added and not removed.
+ *
+ * Tweets are remembered by id, with a digest of their author and mentions,
+ * so the graph's memory grows with the number of tweets held but not with
+ * their text.
+ *
+ * Listeners can follow the graph as it changes, for example to keep an
+ * InfluencerLeaderboard current.
+ *
+ * Not thread-safe.
+ */
+public class FollowsGraph {
+
+    /**
+     * Receives changes to the users of a FollowsGraph and their follower
+     * counts.
+     */
+    public interface Listener {
+        /**
+         * Called when a user joins or leaves the network (as a key or a
+         * followee), or their follower count changes.
+         *
+         * @param username lowercase username
+         * @param followerCount the user's follower count now
+         * @param inNetwork whether the user is now in the network
+         */
+        void userChanged(String username, int followerCount, boolean inNetwork);
+    }
+
+    // returned for users with no evidence; only ever read
+    private static final IntCountMap EMPTY = new IntCountMap();
+
+    private final UsernameDictionary users = new UsernameDictionary();
+    private final List<IntCountMap> evidence = new ArrayList<>();
+    private final TweetIdMultiset added = new TweetIdMultiset();
+    private int[] tweetCounts = new int[16];
+    private int[] followerCounts = new int[16];
+    private final List<Listener> listeners = new ArrayList<>();
+
+    /*
+     * Abstraction function: the social network guessed from a multiset of
+     *   tweets, the ones in added, in which user id a has written
+     *   tweetCounts[a] tweets, and mentions user id b in them
+     *   evidence.get(a).get(b) times in all; a is a key iff tweetCounts[a] >
+     *   0, and follows b iff that evidence count is positive.
+     * Rep invariant:
+     *   evidence.size() <= users.size(); evidence.get(a) is null or holds
+     *     no key equal to a
+     *   each tweet in added has the digest of its author and mentions
+     *   tweetCounts and followerCounts have length >= users.size()
+     *   followerCounts[b] == number of a with evidence.get(a).get(b) > 0
+     *   evidence.get(a) has keys only if tweetCounts[a] > 0
+     * Safety from rep exposure: only Strings, ints and new collections are
+     *   returned.
+     */
+
+    /**
+     * Make an empty graph.
+     */
+    public FollowsGraph() {
+    }
+
+    /**
+     * Add the evidence in a tweet: one scan of its text, then O(1) expected
+     * time per mention.
+     *
+     * @param tweet tweet to add; tweets are told apart by id, so a tweet added
+     *              more than once counts more than once
+     * @throws IllegalArgumentException if a tweet with the same id but a
+     *                                  different author or mentions has been
+     *                                  added and not yet removed; the graph is
+     *                                  then unchanged
+     */
+    public void addTweet(Tweet tweet) {
+        int author = users.intern(tweet.getAuthor());
+        IntArrayList followees = new IntArrayList();
+        MentionScanner.forEachMentionId(tweet.getText(), users, followee -> {
+            if (followee != author) {
+                followees.add(followee);
+            }
+        });
+        ensureCapacity();
+        added.add(tweet.getId(), digest(author, followees));
+        if (tweetCounts[author]++ == 0) {
+            changed(author);
+        }
+        for (int i = 0; i < followees.size(); i++) {
+            int followee = followees.get(i);
+            if (edges(author).add(followee, 1) == 1) {
+                followerCounts[followee]++;
+                changed(followee);
+            }
+        }
+    }
+
+    /**
+     * Add the evidence in a batch of tweets.
+     *
+     * @param tweets tweets to add, not modified
+     * @throws IllegalArgumentException as addTweet does; tweets before the
+     *                                  offending one stay added
+     */
+    public void addAll(Iterable<Tweet> tweets) {
+        for (Tweet t : tweets) {
+            addTweet(t);
+        }
+    }
+
+    /**
+     * Remove the evidence in a tweet that was added before: one scan of its
+     * text, then O(1) expected time per mention.
+     *
+     * @param tweet a tweet with the same id, author and mentions as one that
+     *              has been added and not yet removed
+     * @throws IllegalArgumentException if no such tweet has been added; the
+     *                                  graph is then unchanged
+     */
+    public void removeTweet(Tweet tweet) {
+        int author = users.lookup(tweet.getAuthor());
+        IntArrayList followees = new IntArrayList();
+        String text = tweet.getText();
+        MentionScanner.forEachMention(text, (start, end) -> {
+            int followee = users.lookup(text, start, end);
+            if (followee != author) {
+                followees.add(followee);
+            }
+        });
+        // a tweet that was added has an interned author and mentions
+        boolean known = author >= 0;
+        for (int i = 0; i < followees.size() && known; i++) {
+            known = followees.get(i) >= 0;
+        }
+        if (!known || !added.remove(tweet.getId(), digest(author, followees))) {
+            throw new IllegalArgumentException("tweet was not added: " + tweet);
+        }
+        if (--tweetCounts[author] == 0) {
+            changed(author);
+        }
+        for (int i = 0; i < followees.size(); i++) {
+            int followee = followees.get(i);
+            if (edges(author).add(followee, -1) == 0) {
+                followerCounts[followee]--;
+                changed(followee);
+            }
+        }
+    }
+
+    /**
+     * Register a listener. It is first told about every user now in the
+     * network, and then about every later change.
+     *
+     * @param listener listener to add
+     */
+    public void addListener(Listener listener) {
+        for (int u = 0; u < users.size(); u++) {
+            if (inNetwork(u)) {
+                listener.userChanged(users.name(u), followerCounts[u], true);
+            }
+        }
+        listeners.add(listener);
+    }
+
+    /**
+     * @param listener a listener added before
+     */
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @param follower a Twitter username
+     * @param followee a Twitter username
+     * @return true iff follower follows followee
+     */
+    public boolean follows(String follower, String followee) {
+        return evidence(follower, followee) > 0;
+    }
+
+    /**
+     * @param follower a Twitter username
+     * @param followee a Twitter username
+     * @return the number of mentions of followee in current tweets by follower
+     *         (0 if they are the same user)
+     */
+    public int evidence(String follower, String followee) {
+        int a = users.lookup(follower);
+        int b = users.lookup(followee);
+        return a < 0 || b < 0 ? 0 : evidence(a).get(b);
+    }
+
+    /**
+     * @param username a Twitter username
+     * @return the lowercase usernames username follows; a new set
+     */
+    public Set<String> getFollowees(String username) {
+        int a = users.lookup(username);
+        Set<String> names = new HashSet<>();
+        if (a >= 0) {
+            for (int b : evidence(a).keys()) {
+                names.add(users.name(b));
+            }
+        }
+        return names;
+    }
+
+    /**
+     * @param username a Twitter username
+     * @return number of users who follow username, in O(1) time
+     */
+    public int getFollowerCount(String username) {
+        int b = users.lookup(username);
+        return b < 0 ? 0 : followerCounts[b];
+    }
+
+    /**
+     * @return the social network, as SocialNetwork.guessFollowsGraph returns
+     *         for the current tweets; a new map, not shared with this graph
+     */
+    public Map<String, Set<String>> toMap() {
+        Map<String, Set<String>> map = new HashMap<>();
+        for (int a = 0; a < users.size(); a++) {
+            if (tweetCounts[a] > 0) {
+                Set<String> names = new HashSet<>();
+                for (int b : evidence(a).keys()) {
+                    names.add(users.name(b));
+                }
+                map.put(users.name(a), names);
+            }
+        }
+        return map;
+    }
+
+    /**
+     * @return every user in the network (as a key or a followee), in
+     *         descending order of follower count, ties in alphabetical order,
+     *         as SocialNetwork.influencers(toMap()) returns
+     */
+    public List<String> influencers() {
+        List<Integer> ids = new ArrayList<>();
+        for (int u = 0; u < users.size(); u++) {
+            if (inNetwork(u)) {
+                ids.add(u);
+            }
+        }
+        ids.sort((u1, u2) -> {
+            if (followerCounts[u1] != followerCounts[u2]) return Integer.compare(followerCounts[u2], followerCounts[u1]);
+            return users.name(u1).compareTo(users.name(u2));
+        });
+        List<String> names = new ArrayList<>(ids.size());
+        for (int u : ids) {
+            names.add(users.name(u));
+        }
+        return names;
+    }
+
+    private boolean inNetwork(int u) {
+        return tweetCounts[u] > 0 || followerCounts[u] > 0;
+    }
+
+    private void changed(int u) {
+        for (Listener listener : listeners) {
+            listener.userChanged(users.name(u), followerCounts[u], inNetwork(u));
+        }
+    }
+
+    /*
+     * @return the evidence counts of author, creating them if needed
+     */
+    private IntCountMap edges(int author) {
+        while (evidence.size() <= author) {
+            evidence.add(null);
+        }
+        if (evidence.get(author) == null) {
+            evidence.set(author, new IntCountMap());
+        }
+        return evidence.get(author);
+    }
+
+    /*
+     * @return the evidence counts of author, or an empty map if there are none
+     */
+    private IntCountMap evidence(int author) {
+        return author < evidence.size() && evidence.get(author) != null ? evidence.get(author) : EMPTY;
+    }
+
+    /*
+     * @return a digest of a tweet's author and the multiset of users it
+     *         mentions, independent of the order of the mentions
+     */
+    private static long digest(int author, IntArrayList followees) {
+        long digest = mix(~(long) author);
+        for (int i = 0; i < followees.size(); i++) {
+            digest += mix(followees.get(i));
+        }
+        return digest;
+    }
+
+    // the finalizer of SplitMix64
+    private static long mix(long x) {
+        x = (x ^ (x >>> 30)) * 0xbf58476d1ce4e5b9L;
+        x = (x ^ (x >>> 27)) * 0x94d049bb133111ebL;
+        return x ^ (x >>> 31);
+    }
+
+    private void ensureCapacity() {
+        if (tweetCounts.length < users.size()) {
+            int capacity = Math.max(users.size(), 2 * tweetCounts.length);
+            tweetCounts = Arrays.copyOf(tweetCounts, capacity);
+            followerCounts = Arrays.copyOf(followerCounts, capacity);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A mutable sliding-window counter of hashtag use in a stream of tweets.
+ * Counts are kept per minute of Tweet.getTimestamp() in a ring buffer of
+ * per-minute buckets that covers a fixed window, so a query about the last N
+ * minutes merges at most N buckets instead of rescanning tweets.
+ *
+ * Time is stream time: the latest minute is that of the newest tweet added.
+ * When a newer tweet arrives, buckets that fall out of the window are cleared
+ * and reused. Tweets older than the window are ignored. Hashtags are found as
+ * by Extract.getHashtags and counted once per use, repeats included.
+ *
+ * Not thread-safe.
+ */
+public class HashtagTrends {
+
+    private final int windowMinutes;
+    private final long[] bucketMinute;
+    private final List<Map<String, Integer>> buckets;
+    private long latestMinute = Long.MIN_VALUE;
+
+    /*
+     * Abstraction function: for each minute m in (latestMinute - windowMinutes,
+     *   latestMinute], the hashtag counts of the tweets added with timestamps
+     *   in minute m are buckets[b], where b = floorMod(m, windowMinutes), if
+     *   bucketMinute[b] == m, and are empty otherwise.
+     * Rep invariant: buckets.size() == bucketMinute.length == windowMinutes;
+     *   latestMinute == Long.MIN_VALUE iff no tweet has been added; counts are
+     *   positive.
+     * Safety from rep exposure: the maps are never returned.
+     */
+
+    /**
+     * Make an empty counter.
+     *
+     * @param windowMinutes number of minutes, ending with the newest tweet's,
+     *                      whose counts are kept; at least 1
+     * @throws IllegalArgumentException if windowMinutes < 1
+     */
+    public HashtagTrends(int windowMinutes) {
+        if (windowMinutes < 1) {
+            throw new IllegalArgumentException("window must be at least one minute: " + windowMinutes);
+        }
+        this.windowMinutes = windowMinutes;
+        this.bucketMinute = new long[windowMinutes];
+        this.buckets = new ArrayList<>(windowMinutes);
+        for (int b = 0; b < windowMinutes; b++) {
+            bucketMinute[b] = Long.MIN_VALUE;
+            buckets.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Count the hashtags in a tweet, moving the window forward if the tweet is
+     * newer than any added so far.
+     *
+     * @param tweet tweet to add
+     * @return true if the tweet was counted, false if it is older than the
+     *         window and was ignored
+     */
+    public boolean add(Tweet tweet) {
+        long minute = Math.floorDiv(tweet.getTimestamp().getEpochSecond(), 60);
+        if (latestMinute == Long.MIN_VALUE || minute > latestMinute) {
+            latestMinute = minute;
+        } else if (minute <= latestMinute - windowMinutes) {
+            return false;
+        }
+        int b = (int) Math.floorMod(minute, (long) windowMinutes);
+        Map<String, Integer> bucket = buckets.get(b);
+        if (bucketMinute[b] != minute) {
+            // expire the minute this bucket held, now outside the window
+            bucket.clear();
+            bucketMinute[b] = minute;
+        }
+        String text = tweet.getText();
+        MentionScanner.forEachHashtag(text, (start, end) ->
+                bucket.merge(text.substring(start, end).toLowerCase(Locale.ROOT), 1, Integer::sum));
+        return true;
+    }
+
+    /**
+     * Count the hashtags in a batch of tweets.
+     *
+     * @param tweets tweets to add, not modified
+     */
+    public void addAll(Iterable<Tweet> tweets) {
+        for (Tweet t : tweets) {
+            add(t);
+        }
+    }
+
+    /**
+     * @return number of minutes this counter keeps
+     */
+    public int getWindowMinutes() {
+        return windowMinutes;
+    }
+
+    /**
+     * @param hashtag a hashtag, without the "#"; case-insensitive
+     * @param minutes number of minutes to look back, 1 to getWindowMinutes()
+     * @return number of uses of hashtag in the last minutes minutes, ending
+     *         with the newest tweet's minute
+     * @throws IllegalArgumentException if minutes is out of range
+     */
+    public int count(String hashtag, int minutes) {
+        String tag = hashtag.toLowerCase(Locale.ROOT);
+        int total = 0;
+        for (Map<String, Integer> bucket : recentBuckets(minutes)) {
+            total += bucket.getOrDefault(tag, 0);
+        }
+        return total;
+    }
+
+    /**
+     * Find the most-used hashtags in the last minutes minutes, by merging at
+     * most minutes buckets.
+     *
+     * @param k number of hashtags wanted, at least 0
+     * @param minutes number of minutes to look back, 1 to getWindowMinutes()
+     * @return up to k hashtags used in the last minutes minutes, ending with
+     *         the newest tweet's minute, without "#" and in lowercase, in
+     *         descending order of use, ties in alphabetical order
+     * @throws IllegalArgumentException if k < 0 or minutes is out of range
+     */
+    public List<String> top(int k, int minutes) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must be nonnegative: " + k);
+        }
+        Map<String, Integer> totals = new HashMap<>();
+        for (Map<String, Integer> bucket : recentBuckets(minutes)) {
+            for (Map.Entry<String, Integer> e : bucket.entrySet()) {
+                totals.merge(e.getKey(), e.getValue(), Integer::sum);
+            }
+        }
+        List<String> tags = new ArrayList<>(totals.keySet());
+        tags.sort((t1, t2) -> {
+            int c1 = totals.get(t1);
+            int c2 = totals.get(t2);
+            if (c1 != c2) return Integer.compare(c2, c1);
+            return t1.compareTo(t2);
+        });
+        return new ArrayList<>(tags.subList(0, Math.min(k, tags.size())));
+    }
+
+    /*
+     * @return the live buckets for the last minutes minutes
+     */
+    private List<Map<String, Integer>> recentBuckets(int minutes) {
+        if (minutes < 1 || minutes > windowMinutes) {
+            throw new IllegalArgumentException("minutes must be from 1 to " + windowMinutes + ": " + minutes);
+        }
+        List<Map<String, Integer>> recent = new ArrayList<>(minutes);
+        if (latestMinute == Long.MIN_VALUE) {
+            return recent;
+        }
+        for (long minute = latestMinute - minutes + 1; minute <= latestMinute; minute++) {
+            int b = (int) Math.floorMod(minute, (long) windowMinutes);
+            if (bucketMinute[b] == minute) {
+                recent.add(buckets.get(b));
+            }
+        }
+        return recent;
+    }
+}
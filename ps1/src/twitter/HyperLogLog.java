@@ -0,0 +1,180 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+/**
+ * A mutable HyperLogLog sketch that estimates the number of distinct Twitter
+ * usernames added to it, in fixed memory: 2^precision bytes, however many
+ * usernames are added. Usernames are case-insensitive, as in Extract.
+ *
+ * The estimate has a relative standard error of about
+ * 1.04 / sqrt(2^precision): 1.6% at precision 12 (4 KiB), 0.4% at precision
+ * 16 (64 KiB). Small counts, up to a few times 2^precision, use linear
+ * counting and are much more accurate than that.
+ *
+ * Sketches of the same precision can be merged; the result is the sketch of
+ * the union of what both were given. Not thread-safe: give each thread its
+ * own sketch and merge them.
+ */
+public class HyperLogLog {
+
+    /**
+     * Smallest supported precision.
+     */
+    public static final int MIN_PRECISION = 4;
+
+    /**
+     * Largest supported precision.
+     */
+    public static final int MAX_PRECISION = 18;
+
+    private final int precision;
+    private final byte[] registers;
+
+    /*
+     * Abstraction function: estimates the number of distinct usernames whose
+     *   hashes have been added; for each hash h added, register
+     *   h >>> (64 - precision) holds at least the 1-based position of the
+     *   first one bit in the remaining 64 - precision bits of h.
+     * Rep invariant: MIN_PRECISION <= precision <= MAX_PRECISION;
+     *   registers.length == 1 << precision; each register is in
+     *   0..65 - precision.
+     * Safety from rep exposure: registers is never returned.
+     */
+
+    /**
+     * Make an empty sketch.
+     *
+     * @param precision log base 2 of the number of registers, from
+     *                  MIN_PRECISION to MAX_PRECISION
+     * @throws IllegalArgumentException if precision is out of range
+     */
+    public HyperLogLog(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("precision must be from " + MIN_PRECISION
+                                               + " to " + MAX_PRECISION + ": " + precision);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    /**
+     * @return log base 2 of the number of registers of this sketch
+     */
+    public int getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Add a username.
+     *
+     * @param username a Twitter username
+     */
+    public void add(CharSequence username) {
+        add(username, 0, username.length());
+    }
+
+    /**
+     * Add a username found in a text, without copying it.
+     *
+     * @param text text containing a Twitter username
+     * @param start index of the username's first character in text
+     * @param end index just past the username's last character in text
+     */
+    public void add(CharSequence text, int start, int end) {
+        long hash = hash(text, start, end);
+        int index = (int) (hash >>> (64 - precision));
+        // the guard bit caps the rank at 65 - precision
+        int rank = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    /**
+     * Add every user mentioned in a tweet, with mentions defined as for
+     * Extract.getMentionedUsers.
+     *
+     * @param tweet tweet whose mentions to add
+     */
+    public void addMentions(Tweet tweet) {
+        String text = tweet.getText();
+        MentionScanner.forEachMention(text, (start, end) -> add(text, start, end));
+    }
+
+    /**
+     * Add every username another sketch has been given.
+     *
+     * @param other sketch of the same precision, not modified
+     * @throws IllegalArgumentException if the precisions differ
+     */
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("cannot merge sketches of precision "
+                                               + precision + " and " + other.precision);
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    /**
+     * @return an estimate of the number of distinct usernames added
+     */
+    public long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte r : registers) {
+            sum += Math.scalb(1.0, -r);
+            if (r == 0) {
+                zeros++;
+            }
+        }
+        double raw = alpha(m) * m * m / sum;
+        if (raw <= 2.5 * m && zeros > 0) {
+            // linear counting is more accurate while many registers are empty
+            return Math.round(m * Math.log((double) m / zeros));
+        }
+        return Math.round(raw);
+    }
+
+    /**
+     * @return the relative standard error of estimate() for large counts,
+     *         1.04 / sqrt(2^precision)
+     */
+    public double standardError() {
+        return 1.04 / Math.sqrt(registers.length);
+    }
+
+    private static double alpha(int m) {
+        switch (m) {
+        case 16: return 0.673;
+        case 32: return 0.697;
+        case 64: return 0.709;
+        default: return 0.7213 / (1 + 1.079 / m);
+        }
+    }
+
+    /*
+     * 64-bit hash of a username, consistent with case-insensitive equality:
+     * FNV-1a over the folded characters, then the MurmurHash3 finalizer so
+     * that every output bit depends on every input bit.
+     */
+    private static long hash(CharSequence text, int start, int end) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = start; i < end; i++) {
+            h ^= UsernameDictionary.fold(text.charAt(i));
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
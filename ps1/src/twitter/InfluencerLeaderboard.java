@@ -0,0 +1,282 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A mutable ranking of users by follower count, in the order of
+ * SocialNetwork.influencers: descending follower count, ties in alphabetical
+ * order. Changing a user's count, and finding a user's rank or the user at a
+ * rank, take O(log n) expected time for n users; the top k take
+ * O(log n + k).
+ *
+ * A leaderboard can follow a FollowsGraph as a listener, so that its ranking
+ * is always that of the graph's influencers(). Not thread-safe.
+ */
+public class InfluencerLeaderboard implements FollowsGraph.Listener {
+
+    private final Map<String, Node> nodes = new HashMap<>();
+    private final Random random = new Random();
+    private Node root = null;
+
+    /*
+     * Abstraction function: ranks the users nodes.keySet(), user u having
+     *   follower count nodes.get(u).count.
+     * Rep invariant: root is a treap holding exactly the nodes in nodes:
+     *   in-order traversal visits them in ranking order, each node's priority
+     *   is at least its children's, and each node's size is the number of
+     *   nodes in its subtree.
+     * Safety from rep exposure: nodes are never returned, only Strings.
+     */
+
+    private static class Node {
+        final String username;
+        final int count;
+        final int priority;
+        int size = 1;
+        Node left;
+        Node right;
+
+        Node(String username, int count, int priority) {
+            this.username = username;
+            this.count = count;
+            this.priority = priority;
+        }
+    }
+
+    /**
+     * Make an empty leaderboard.
+     */
+    public InfluencerLeaderboard() {
+    }
+
+    /**
+     * Make a leaderboard that follows a graph: it ranks the graph's users now
+     * and keeps up with later changes to the graph.
+     *
+     * @param graph graph to follow
+     */
+    public InfluencerLeaderboard(FollowsGraph graph) {
+        graph.addListener(this);
+    }
+
+    /**
+     * Set a user's follower count, adding the user if needed, in O(log n)
+     * expected time.
+     *
+     * @param username a username; distinct strings are distinct users
+     * @param followerCount the user's follower count
+     */
+    public void update(String username, int followerCount) {
+        Node old = nodes.get(username);
+        if (old != null) {
+            if (old.count == followerCount) {
+                return;
+            }
+            root = delete(root, old);
+        }
+        Node node = new Node(username, followerCount, random.nextInt());
+        nodes.put(username, node);
+        root = insert(root, node);
+    }
+
+    /**
+     * Remove a user, in O(log n) expected time.
+     *
+     * @param username a username
+     * @return true iff the user was on this leaderboard
+     */
+    public boolean remove(String username) {
+        Node old = nodes.remove(username);
+        if (old == null) {
+            return false;
+        }
+        root = delete(root, old);
+        return true;
+    }
+
+    @Override public void userChanged(String username, int followerCount, boolean inNetwork) {
+        if (inNetwork) {
+            update(username, followerCount);
+        } else {
+            remove(username);
+        }
+    }
+
+    /**
+     * @return number of users on this leaderboard
+     */
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * @param username a username
+     * @return the user's follower count, or -1 if they are not on this
+     *         leaderboard
+     */
+    public int getFollowerCount(String username) {
+        Node node = nodes.get(username);
+        return node == null ? -1 : node.count;
+    }
+
+    /**
+     * @param username a username
+     * @return the user's 0-based position in the ranking, or -1 if they are
+     *         not on this leaderboard; O(log n) expected time
+     */
+    public int rank(String username) {
+        Node target = nodes.get(username);
+        if (target == null) {
+            return -1;
+        }
+        int rank = 0;
+        Node node = root;
+        while (node != target) {
+            if (compare(target, node) < 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank + size(node.left);
+    }
+
+    /**
+     * @param rank a position in the ranking, 0 <= rank < size()
+     * @return the user at that position; O(log n) expected time
+     * @throws IndexOutOfBoundsException if rank is out of range
+     */
+    public String get(int rank) {
+        if (rank < 0 || rank >= size()) {
+            throw new IndexOutOfBoundsException("rank " + rank + " of " + size());
+        }
+        Node node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (rank < leftSize) {
+                node = node.left;
+            } else if (rank == leftSize) {
+                return node.username;
+            } else {
+                rank -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * @param k number of users wanted, at least 0
+     * @return the first k users in the ranking (or all, if there are fewer);
+     *         O(log n + k) expected time
+     * @throws IllegalArgumentException if k < 0
+     */
+    public List<String> top(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must be nonnegative: " + k);
+        }
+        List<String> result = new ArrayList<>(Math.min(k, size()));
+        // iterative in-order walk, stopping after k nodes
+        List<Node> stack = new ArrayList<>();
+        Node node = root;
+        while (result.size() < k && (node != null || !stack.isEmpty())) {
+            while (node != null) {
+                stack.add(node);
+                node = node.left;
+            }
+            node = stack.remove(stack.size() - 1);
+            result.add(node.username);
+            node = node.right;
+        }
+        return result;
+    }
+
+    /*
+     * @return negative if a ranks before b, positive if after, 0 if same user
+     */
+    private static int compare(Node a, Node b) {
+        if (a.count != b.count) return Integer.compare(b.count, a.count);
+        return a.username.compareTo(b.username);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static Node update(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+        return node;
+    }
+
+    private static Node insert(Node node, Node inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (inserted.priority > node.priority) {
+            Node[] parts = split(node, inserted);
+            inserted.left = parts[0];
+            inserted.right = parts[1];
+            return update(inserted);
+        }
+        if (compare(inserted, node) < 0) {
+            node.left = insert(node.left, inserted);
+        } else {
+            node.right = insert(node.right, inserted);
+        }
+        return update(node);
+    }
+
+    private static Node delete(Node node, Node deleted) {
+        if (node == deleted) {
+            return merge(node.left, node.right);
+        }
+        if (compare(deleted, node) < 0) {
+            node.left = delete(node.left, deleted);
+        } else {
+            node.right = delete(node.right, deleted);
+        }
+        return update(node);
+    }
+
+    /*
+     * @return the nodes of the treap ranking before key, and those after it
+     */
+    private static Node[] split(Node node, Node key) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (compare(node, key) < 0) {
+            Node[] parts = split(node.right, key);
+            node.right = parts[0];
+            parts[0] = update(node);
+            return parts;
+        } else {
+            Node[] parts = split(node.left, key);
+            node.left = parts[1];
+            parts[1] = update(node);
+            return parts;
+        }
+    }
+
+    /*
+     * @return the treap of every node of left followed by every node of right
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) return right;
+        if (right == null) return left;
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        } else {
+            right.left = merge(left, right.left);
+            return update(right);
+        }
+    }
+}
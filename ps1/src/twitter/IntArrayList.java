@@ -0,0 +1,78 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of ints, without boxing.
+ */
+class IntArrayList {
+
+    private int[] values;
+    private int size;
+
+    /*
+     * Rep invariant: 0 <= size <= values.length; the list is values[0..size).
+     */
+
+    IntArrayList() {
+        this(8);
+    }
+
+    IntArrayList(int capacity) {
+        values = new int[Math.max(capacity, 1)];
+    }
+
+    void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+    }
+
+    int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + " of " + size);
+        }
+        return values[index];
+    }
+
+    void set(int index, int value) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + " of " + size);
+        }
+        values[index] = value;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * @return a new array holding the list's values, in order
+     */
+    int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    /**
+     * @return a new array holding the list's distinct values, in ascending order
+     */
+    int[] toSortedDistinctArray() {
+        int[] sorted = toArray();
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        return distinct == sorted.length ? sorted : Arrays.copyOf(sorted, distinct);
+    }
+}
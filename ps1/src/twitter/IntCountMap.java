@@ -0,0 +1,146 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.util.Arrays;
+
+/**
+ * A mutable map from int keys to positive int counts, without boxing. Keys
+ * whose count drops to zero are removed.
+ */
+class IntCountMap {
+
+    private int[] keys;
+    private int[] counts;
+    private int size;
+
+    /*
+     * Abstraction function: maps keys[s] to counts[s] for each slot s with
+     *   counts[s] > 0.
+     * Rep invariant: keys.length == counts.length, a power of two, more than
+     *   twice size; size is the number of slots with a positive count; each
+     *   key is in at most one slot, reachable by linear probing from its hash
+     *   without crossing an empty slot.
+     */
+
+    IntCountMap() {
+        keys = new int[4];
+        counts = new int[4];
+    }
+
+    /**
+     * @return number of keys with a positive count
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @param key a key
+     * @return the count of key, or 0 if it has none
+     */
+    int get(int key) {
+        int mask = keys.length - 1;
+        for (int slot = hash(key) & mask; counts[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return counts[slot];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Change the count of a key.
+     *
+     * @param key a key
+     * @param delta amount to add to its count; the result must not be negative
+     * @return the new count of key
+     * @throws IllegalArgumentException if the count would become negative
+     */
+    int add(int key, int delta) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (counts[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        int count = counts[slot] + delta;
+        if (count < 0) {
+            throw new IllegalArgumentException("count of " + key + " would become " + count);
+        }
+        if (counts[slot] == 0) {
+            if (count > 0) {
+                keys[slot] = key;
+                counts[slot] = count;
+                if (++size * 2 >= keys.length) {
+                    rehash(keys.length * 2);
+                }
+            }
+        } else if (count > 0) {
+            counts[slot] = count;
+        } else {
+            remove(slot);
+        }
+        return count;
+    }
+
+    /**
+     * @return the keys with a positive count, in ascending order
+     */
+    int[] keys() {
+        int[] result = new int[size];
+        int i = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (counts[slot] != 0) {
+                result[i++] = keys[slot];
+            }
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    /*
+     * Empty a slot, shifting later entries of its probe run back so that they
+     * stay reachable.
+     */
+    private void remove(int slot) {
+        int mask = keys.length - 1;
+        counts[slot] = 0;
+        size--;
+        int hole = slot;
+        for (int next = (slot + 1) & mask; counts[next] != 0; next = (next + 1) & mask) {
+            int home = hash(keys[next]) & mask;
+            // move next into the hole unless its home lies cyclically in (hole, next]
+            boolean reachable = hole <= next ? (home > hole && home <= next) : (home > hole || home <= next);
+            if (!reachable) {
+                keys[hole] = keys[next];
+                counts[hole] = counts[next];
+                counts[next] = 0;
+                hole = next;
+            }
+        }
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = new int[capacity];
+        counts = new int[capacity];
+        int mask = capacity - 1;
+        for (int s = 0; s < oldKeys.length; s++) {
+            if (oldCounts[s] != 0) {
+                int slot = hash(oldKeys[s]) & mask;
+                while (counts[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[s];
+                counts[slot] = oldCounts[s];
+            }
+        }
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,251 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Immutable matcher for a fixed list of words, built once and reusable for any
+ * number of texts. Finds whether a text contains any of the words as a whole
+ * word, case-insensitively, by the same rules as Filter.containing, in one pass
+ * over the text however many words there are.
+ *
+ * Implemented as an Aho-Corasick automaton over the characters that occur in
+ * the words; each match the automaton reports is then checked for word
+ * boundaries at both ends. Transitions on ASCII characters are compiled into a
+ * table with one row per state, as long as the table stays small; other
+ * transitions follow the trie's own edges and its failure links, so a long list
+ * of non-ASCII words costs memory in proportion to its length.
+ */
+public class KeywordMatcher {
+
+    // largest transition table compiled, in entries (16 MiB)
+    private static final int MAX_DENSE_CELLS = 1 << 22;
+
+    private final int[] asciiClass = new int[128];
+    private final char[] otherChars;
+    private final int[] otherClass;
+    private final int denseClasses;
+    private final int[] delta;
+    private final int[] edgeStart;
+    private final int[] edgeClass;
+    private final int[] edgeTarget;
+    private final int[] fail;
+    private final int[] depth;
+    private final boolean[] terminal;
+    private final int[] output;
+
+    /*
+     * Abstraction function: matches any of the words spelled by the paths from
+     *   state 0 to terminal states, as whole words, ignoring ASCII case.
+     * Rep invariant:
+     *   characters are mapped to classes by asciiClass (for ASCII) and by
+     *     otherChars/otherClass (sorted, for the rest), in ascending order of
+     *     character from class 1; every other character has class 0, which
+     *     occurs in no word
+     *   the trie edges out of state s are edgeClass/edgeTarget[edgeStart[s] ..
+     *     edgeStart[s+1]), in ascending order of class
+     *   fail[s] is the state for the longest proper suffix of the string
+     *     spelled by s that is spelled by some state; fail[0] == 0
+     *   for 0 < c < denseClasses, delta[s * denseClasses + c] is the state
+     *     reached from s on class c; denseClasses is 1 (no table) or one more
+     *     than the number of ASCII classes
+     *   depth[s] is the length of the string spelled by state s
+     *   output[s] is the nearest terminal state reached by following failure
+     *     links from s (excluding s), or -1
+     * Safety from rep exposure: all fields are private and never returned.
+     */
+
+    /**
+     * Make a matcher for a list of words.
+     *
+     * @param words words to match, as for Filter.containing: whole words,
+     *              case-insensitive; null and empty words are ignored
+     */
+    public KeywordMatcher(List<String> words) {
+        this(words, MAX_DENSE_CELLS);
+    }
+
+    /**
+     * Make a matcher for a list of words, compiling ASCII transitions into a
+     * table only if it has at most maxDenseCells entries.
+     */
+    KeywordMatcher(List<String> words, int maxDenseCells) {
+        List<String> folded = new ArrayList<>();
+        TreeSet<Character> alphabet = new TreeSet<>();
+        for (String word : words) {
+            if (word == null || word.isEmpty()) {
+                continue;
+            }
+            String f = WordBoundaries.foldCase(word);
+            folded.add(f);
+            for (int i = 0; i < f.length(); i++) {
+                alphabet.add(f.charAt(i));
+            }
+        }
+
+        int nextClass = 1;
+        List<Character> others = new ArrayList<>();
+        for (char c : alphabet) {
+            if (c < 128) {
+                asciiClass[c] = nextClass++;
+            } else {
+                others.add(c);
+            }
+        }
+        int asciiClasses = nextClass;
+        otherChars = new char[others.size()];
+        otherClass = new int[others.size()];
+        for (int i = 0; i < others.size(); i++) {
+            otherChars[i] = others.get(i);
+            otherClass[i] = nextClass++;
+        }
+
+        // trie, from the words in sorted order: classes ascend with characters,
+        // so each state's children are created in ascending order of class
+        Collections.sort(folded);
+        int maxStates = 1;
+        for (String f : folded) {
+            maxStates += f.length();
+        }
+        int[] parents = new int[maxStates];
+        int[] classes = new int[maxStates];
+        int[] depths = new int[maxStates];
+        boolean[] terminals = new boolean[maxStates];
+        int[] childCounts = new int[maxStates];
+        int[] path = new int[maxStates];
+        int states = 1;
+        String previous = "";
+        for (String f : folded) {
+            int common = 0;
+            while (common < f.length() && common < previous.length() && f.charAt(common) == previous.charAt(common)) {
+                common++;
+            }
+            for (int i = common; i < f.length(); i++) {
+                int s = states++;
+                parents[s] = path[i];
+                classes[s] = classOf(f.charAt(i));
+                depths[s] = i + 1;
+                childCounts[path[i]]++;
+                path[i + 1] = s;
+            }
+            terminals[path[f.length()]] = true;
+            previous = f;
+        }
+
+        edgeStart = new int[states + 1];
+        for (int s = 0; s < states; s++) {
+            edgeStart[s + 1] = edgeStart[s] + childCounts[s];
+        }
+        edgeClass = new int[states - 1];
+        edgeTarget = new int[states - 1];
+        int[] filled = Arrays.copyOf(edgeStart, states);
+        for (int s = 1; s < states; s++) {
+            int edge = filled[parents[s]]++;
+            edgeClass[edge] = classes[s];
+            edgeTarget[edge] = s;
+        }
+        depth = Arrays.copyOf(depths, states);
+        terminal = Arrays.copyOf(terminals, states);
+
+        denseClasses = (long) states * asciiClasses <= maxDenseCells ? asciiClasses : 1;
+        delta = new int[denseClasses > 1 ? states * denseClasses : 0];
+
+        // breadth-first, so each state's failure target is finished before it
+        fail = new int[states];
+        output = new int[states];
+        output[0] = -1;
+        int[] queue = new int[states];
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            int u = queue[head++];
+            if (denseClasses > 1) {
+                if (u != 0) {
+                    System.arraycopy(delta, fail[u] * denseClasses, delta, u * denseClasses, denseClasses);
+                }
+                for (int e = edgeStart[u]; e < edgeStart[u + 1] && edgeClass[e] < denseClasses; e++) {
+                    delta[u * denseClasses + edgeClass[e]] = edgeTarget[e];
+                }
+            }
+            for (int e = edgeStart[u]; e < edgeStart[u + 1]; e++) {
+                int v = edgeTarget[e];
+                int f = u == 0 ? 0 : next(fail[u], edgeClass[e]);
+                fail[v] = f;
+                output[v] = terminal[f] ? f : output[f];
+                queue[tail++] = v;
+            }
+        }
+    }
+
+    /**
+     * @param text text to search
+     * @return true iff text contains at least one of this matcher's words as a
+     *         whole word, ignoring case
+     */
+    public boolean matches(String text) {
+        int s = 0;
+        for (int i = 0; i < text.length(); i++) {
+            s = next(s, classOf(WordBoundaries.foldCase(text.charAt(i))));
+            for (int t = terminal[s] ? s : output[s]; t >= 0; t = output[t]) {
+                if (WordBoundaries.isBoundary(text, i + 1 - depth[t]) && WordBoundaries.isBoundary(text, i + 1)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Find tweets that contain any of this matcher's words, as
+     * Filter.containing(tweets, words) does.
+     *
+     * @param tweets a list of tweets with distinct ids, not modified by this method.
+     * @return all and only the tweets that include at least one of the words
+     *         (case-insensitive), matching whole words; in the same order as input.
+     */
+    public List<Tweet> filter(List<Tweet> tweets) {
+        List<Tweet> result = new ArrayList<>();
+        for (Tweet t : tweets) {
+            if (t.getText() != null && matches(t.getText())) {
+                result.add(t);
+            }
+        }
+        return result;
+    }
+
+    /*
+     * @return the state reached from state s on class c
+     */
+    private int next(int s, int c) {
+        if (c == 0) {
+            return 0;
+        }
+        if (c < denseClasses) {
+            return delta[s * denseClasses + c];
+        }
+        while (true) {
+            int e = Arrays.binarySearch(edgeClass, edgeStart[s], edgeStart[s + 1], c);
+            if (e >= 0) {
+                return edgeTarget[e];
+            }
+            if (s == 0) {
+                return 0;
+            }
+            s = fail[s];
+        }
+    }
+
+    private int classOf(char c) {
+        if (c < 128) {
+            return asciiClass[c];
+        }
+        int i = Arrays.binarySearch(otherChars, c);
+        return i < 0 ? 0 : otherClass[i];
+    }
+}
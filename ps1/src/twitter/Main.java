@@ -6,6 +6,10 @@ package twitter;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -36,7 +40,9 @@ public class Main {
      * Main method of the program. Fetches a sample of tweets and prints some
      * facts about it.
      * 
-     * @param args command-line arguments (not used)
+     * @param args command-line arguments: optionally, the path of a snapshot
+     *             file. If it exists, tweets are loaded from it instead of
+     *             being fetched; otherwise the fetched tweets are saved to it.
      */
     public static void main(String[] args) {
         try {
@@ -46,7 +52,7 @@ public class Main {
         
         final List<Tweet> tweets;
         try {
-            tweets = TweetReader.readTweetsFromWeb(SAMPLE_SERVER);
+            tweets = loadTweets(args.length > 0 ? Paths.get(args[0]) : null);
         } catch (IOException ioe) {
             throw new RuntimeException(ioe);
         }
@@ -54,22 +60,40 @@ public class Main {
         // display some characteristics about the tweets
         System.err.println("fetched " + tweets.size() + " tweets");
         
-        final Timespan span = Extract.getTimespan(tweets);
+        // one pass over the tweets finds everything printed below
+        final CorpusSummary summary = CorpusSummary.analyze(tweets);
+        
+        final Timespan span = summary.getTimespan();
         System.err.println("ranging from " + span.getStart() + " to " + span.getEnd());
         
-        final Set<String> mentionedUsers = Extract.getMentionedUsers(tweets);
+        final Set<String> mentionedUsers = summary.getMentionedUsers();
         System.err.println("covers " + mentionedUsers.size() + " Twitter users");
         
         // infer the follows graph
-        final Map<String, Set<String>> followsGraph = SocialNetwork.guessFollowsGraph(tweets);
+        final Map<String, Set<String>> followsGraph = summary.getFollowsGraph();
         System.err.println("follows graph has " + followsGraph.size() + " nodes");
         
         // print the top-N influencers
         final int count = 10;
-        final List<String> influencers = SocialNetwork.influencers(followsGraph);
-        for (String username : influencers.subList(0, Math.min(count, influencers.size()))) {
+        for (String username : summary.getTopInfluencers(count)) {
             System.out.println(username);
         }
     }
+
+    /*
+     * Load tweets from a snapshot file if there is one, or else fetch them
+     * from SAMPLE_SERVER (saving them to the snapshot path, if given).
+     */
+    private static List<Tweet> loadTweets(Path snapshot) throws IOException {
+        if (snapshot != null && Files.exists(snapshot)) {
+            return TweetSnapshot.open(snapshot);
+        }
+        final List<Tweet> tweets = new ArrayList<>();
+        StreamingTweetReader.readTweetsFromWeb(SAMPLE_SERVER, tweets::add);
+        if (snapshot != null) {
+            TweetSnapshot.write(tweets, snapshot);
+        }
+        return tweets;
+    }
     
 }
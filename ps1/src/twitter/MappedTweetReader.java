@@ -0,0 +1,116 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.json.JsonException;
+
+/**
+ * Read tweets from a local file of newline-delimited JSON (one tweet object per
+ * line). The file is memory-mapped and scanned in place, so heap use does not
+ * grow with the size of the file when tweets are consumed as they are read.
+ */
+public class MappedTweetReader {
+
+    /*
+     * Largest region mapped at once. Files bigger than this are mapped in
+     * consecutive windows, each starting at a record boundary.
+     */
+    private static final int WINDOW_SIZE = 1 << 30;
+
+    /**
+     * Read every tweet in a newline-delimited JSON file.
+     *
+     * @param file path of a file holding one tweet object per line; blank
+     *             lines are ignored
+     * @return the tweets in the file, in file order
+     * @throws IOException if the file cannot be opened or read
+     * @throws JsonException if a line is not a well-formed tweet object
+     */
+    public static List<Tweet> readTweets(Path file) throws IOException {
+        List<Tweet> tweets = new ArrayList<>();
+        readTweets(file, tweets::add);
+        return tweets;
+    }
+
+    /**
+     * Stream every tweet in a newline-delimited JSON file.
+     *
+     * @param file path of a file holding one tweet object per line; blank
+     *             lines are ignored
+     * @param sink receives each tweet, in file order
+     * @throws IOException if the file cannot be opened or read
+     * @throws JsonException if a line is not a well-formed tweet object
+     */
+    public static void readTweets(Path file, Consumer<? super Tweet> sink) throws IOException {
+        readTweets(file, sink, WINDOW_SIZE);
+    }
+
+    /*
+     * Read with a given mapping window size, so that window stitching can be
+     * exercised on small files.
+     */
+    static void readTweets(Path file, Consumer<? super Tweet> sink, int windowSize) throws IOException {
+        TweetRecordDecoder decoder = new TweetRecordDecoder();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long offset = 0;
+            while (offset < size) {
+                int length = (int) Math.min(windowSize, size - offset);
+                boolean last = offset + length == size;
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+                int consumed = forEachRecord(window, 0, length, last, decoder, sink);
+                if (consumed == 0) {
+                    throw new JsonException("line at byte " + offset + " is longer than " + windowSize + " bytes");
+                }
+                offset += consumed;
+            }
+        }
+    }
+
+    /**
+     * Decode the newline-delimited records in a region of a buffer.
+     *
+     * @param buf bytes holding UTF-8 newline-delimited JSON
+     * @param start absolute index of the start of a record
+     * @param end absolute index just past the region
+     * @param last true if end is the end of the input, so a final record need
+     *             not be followed by a newline
+     * @param decoder decoder to use
+     * @param sink receives each decoded tweet, in order
+     * @return number of bytes consumed; when last is false, any trailing
+     *         partial record is left unconsumed
+     */
+    static int forEachRecord(ByteBuffer buf, int start, int end, boolean last,
+                             TweetRecordDecoder decoder, Consumer<? super Tweet> sink) {
+        int recordStart = start;
+        for (int i = start; i < end; i++) {
+            if (buf.get(i) == '\n') {
+                emit(buf, recordStart, i, decoder, sink);
+                recordStart = i + 1;
+            }
+        }
+        if (last && recordStart < end) {
+            emit(buf, recordStart, end, decoder, sink);
+            recordStart = end;
+        }
+        return recordStart - start;
+    }
+
+    private static void emit(ByteBuffer buf, int start, int end,
+                             TweetRecordDecoder decoder, Consumer<? super Tweet> sink) {
+        if (!TweetRecordDecoder.isBlank(buf, start, end)) {
+            sink.accept(decoder.decode(buf, start, end));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A running Extract.getMentionedUsers: a mutable accumulator that is given
+ * tweets one at a time or in batches, and can report the users mentioned in
+ * all the tweets it has been given so far. Adding a tweet costs time
+ * proportional to its text, however many tweets came before it.
+ *
+ * Accumulators for different parts of a stream can be merged. Not
+ * thread-safe: give each thread its own accumulator and merge them.
+ */
+public class MentionAccumulator {
+
+    private final UsernameDictionary users = new UsernameDictionary();
+    private final BitSet mentioned = new BitSet();
+
+    /*
+     * Abstraction function: the set of usernames users.name(id) for each id
+     *   set in mentioned.
+     * Rep invariant: every bit set in mentioned is an id in users.
+     * Safety from rep exposure: users and mentioned are never returned; get()
+     *   returns a new set.
+     */
+
+    /**
+     * Make an accumulator that has been given no tweets.
+     */
+    public MentionAccumulator() {
+    }
+
+    /**
+     * Add a tweet.
+     *
+     * @param tweet tweet to add
+     */
+    public void add(Tweet tweet) {
+        MentionScanner.forEachMentionId(tweet.getText(), users, mentioned::set);
+    }
+
+    /**
+     * Add a batch of tweets.
+     *
+     * @param tweets tweets to add, not modified
+     */
+    public void addAll(Iterable<Tweet> tweets) {
+        for (Tweet t : tweets) {
+            add(t);
+        }
+    }
+
+    /**
+     * Add every user another accumulator has seen mentioned, in time
+     * proportional to the number of such users.
+     *
+     * @param other accumulator to merge into this one, not modified
+     */
+    public void merge(MentionAccumulator other) {
+        if (other == this) {
+            return;
+        }
+        for (int id = other.mentioned.nextSetBit(0); id >= 0; id = other.mentioned.nextSetBit(id + 1)) {
+            mentioned.set(users.intern(other.users.name(id)));
+        }
+    }
+
+    /**
+     * @return number of distinct users mentioned so far
+     */
+    public int size() {
+        return mentioned.cardinality();
+    }
+
+    /**
+     * @param username a Twitter username
+     * @return true iff username has been mentioned so far (case-insensitively)
+     */
+    public boolean contains(String username) {
+        int id = users.lookup(username);
+        return id >= 0 && mentioned.get(id);
+    }
+
+    /**
+     * @return the set of usernames mentioned in the tweets added so far, in
+     *         lowercase, as Extract.getMentionedUsers returns for those tweets
+     */
+    public Set<String> get() {
+        Set<String> names = new HashSet<>();
+        for (int id = mentioned.nextSetBit(0); id >= 0; id = mentioned.nextSetBit(id + 1)) {
+            names.add(users.name(id));
+        }
+        return names;
+    }
+}
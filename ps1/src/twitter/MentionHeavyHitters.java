@@ -0,0 +1,276 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A mutable counter of the most-mentioned users in a stream of tweets, in
+ * memory bounded by a fixed capacity, using the Space-Saving algorithm
+ * (Metwally, Agrawal and El Abbadi, 2005). Mentions are found by the same
+ * rules as Extract.getMentionedUsers, and every mention counts, repeats
+ * included.
+ *
+ * Guarantees, after n mentions have been counted with capacity c:
+ * <ul>
+ * <li>every user mentioned more than n / c times is tracked;
+ * <li>a tracked user's reported count is at least their true count, and at
+ *     most their true count plus their reported error, which is at most n / c;
+ * <li>if no more than c distinct users have been mentioned, counts are exact.
+ * </ul>
+ *
+ * Not thread-safe.
+ */
+public class MentionHeavyHitters {
+
+    // usernames interned before the dictionary is compacted, beyond 2 * capacity
+    private static final int SLACK = 1024;
+
+    private final int capacity;
+    private final int[] ids;
+    private final long[] counts;
+    private final long[] errors;
+    private final int[] heap;
+    private final int[] heapIndex;
+    private UsernameDictionary users = new UsernameDictionary();
+    private int[] slotOf = new int[16];
+    private int size = 0;
+    private long total = 0;
+
+    /*
+     * Abstraction function: tracks users users.name(ids[s]) for each slot
+     *   s < size, with counts[s] an upper bound on their mentions and
+     *   counts[s] - errors[s] a lower bound; total mentions have been counted.
+     * Rep invariant:
+     *   0 <= size <= capacity; the ids[s] for s < size are distinct ids of
+     *     users; slotOf[id] == s + 1 if id == ids[s] for some s < size, and
+     *     slotOf[id] == 0 for every other id < slotOf.length
+     *   heap[0..size) is a permutation of the slots, a binary min-heap by
+     *     counts; heapIndex[heap[i]] == i
+     *   0 <= errors[s] <= counts[s]; the counts sum to total
+     * Safety from rep exposure: only Strings and new HeavyHitter objects are
+     *   returned.
+     */
+
+    /**
+     * One user and their approximate mention count.
+     */
+    public static class HeavyHitter {
+        private final String username;
+        private final long count;
+        private final long error;
+
+        private HeavyHitter(String username, long count, long error) {
+            this.username = username;
+            this.count = count;
+            this.error = error;
+        }
+
+        /**
+         * @return the username, in lowercase
+         */
+        public String getUsername() {
+            return username;
+        }
+
+        /**
+         * @return an upper bound on the number of times the user was mentioned
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return the most by which getCount() may overestimate; the user was
+         *         mentioned at least getCount() - getError() times
+         */
+        public long getError() {
+            return error;
+        }
+
+        @Override public String toString() {
+            return username + "=" + count + "(+-" + error + ")";
+        }
+    }
+
+    /**
+     * Make a counter that tracks at most capacity users at once.
+     *
+     * @param capacity number of users to track, at least 1; larger capacity
+     *                 gives smaller errors
+     * @throws IllegalArgumentException if capacity < 1
+     */
+    public MentionHeavyHitters(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.ids = new int[capacity];
+        this.counts = new long[capacity];
+        this.errors = new long[capacity];
+        this.heap = new int[capacity];
+        this.heapIndex = new int[capacity];
+    }
+
+    /**
+     * Count every mention in a tweet.
+     *
+     * @param tweet tweet whose mentions to count
+     */
+    public void add(Tweet tweet) {
+        compactIfFull();
+        MentionScanner.forEachMentionId(tweet.getText(), users, this::addMentionId);
+    }
+
+    /**
+     * Count every mention in a batch of tweets.
+     *
+     * @param tweets tweets whose mentions to count, not modified
+     */
+    public void addAll(Iterable<Tweet> tweets) {
+        for (Tweet t : tweets) {
+            add(t);
+        }
+    }
+
+    /**
+     * Count one mention of a user, in amortized O(log capacity) time.
+     *
+     * @param username a Twitter username; case-insensitive
+     */
+    public void addMention(String username) {
+        compactIfFull();
+        addMentionId(users.intern(username));
+    }
+
+    private void addMentionId(int id) {
+        total++;
+        if (id >= slotOf.length) {
+            slotOf = Arrays.copyOf(slotOf, Math.max(2 * slotOf.length, id + 1));
+        }
+        int slot = slotOf[id] - 1;
+        if (slot >= 0) {
+            counts[slot]++;
+            siftDown(heapIndex[slot]);
+            return;
+        }
+        if (size < capacity) {
+            int s = size++;
+            ids[s] = id;
+            counts[s] = 1;
+            errors[s] = 0;
+            heap[s] = s;
+            heapIndex[s] = s;
+            slotOf[id] = s + 1;
+            siftUp(s);
+            return;
+        }
+        // evict the least-counted user; the newcomer inherits its count as error
+        int s = heap[0];
+        slotOf[ids[s]] = 0;
+        ids[s] = id;
+        errors[s] = counts[s];
+        counts[s]++;
+        slotOf[id] = s + 1;
+        siftDown(0);
+    }
+
+    /*
+     * Evicted users stay in the dictionary, so once it holds more than
+     * 2 * capacity + SLACK names, start a new one holding only the tracked
+     * users. At least capacity + SLACK names are interned between
+     * compactions, each of which costs O(capacity), so memory stays
+     * O(capacity) at amortized O(1) time per mention.
+     */
+    private void compactIfFull() {
+        if (users.size() <= 2 * capacity + SLACK) {
+            return;
+        }
+        UsernameDictionary kept = new UsernameDictionary();
+        int[] keptSlots = new int[Math.max(16, size)];
+        for (int s = 0; s < size; s++) {
+            int id = kept.intern(users.name(ids[s]));
+            ids[s] = id;
+            keptSlots[id] = s + 1;
+        }
+        users = kept;
+        slotOf = keptSlots;
+    }
+
+    /**
+     * @return number of mentions counted so far
+     */
+    public long total() {
+        return total;
+    }
+
+    /**
+     * @return the largest amount by which any reported count can exceed the
+     *         true count: the smallest tracked count once capacity users are
+     *         tracked, and 0 before that
+     */
+    public long maxError() {
+        return size < capacity ? 0 : counts[heap[0]];
+    }
+
+    /**
+     * Find the most-mentioned users so far, in O(capacity log capacity) time.
+     *
+     * @param k number of users wanted, at least 0
+     * @return up to k tracked users with the highest counts, in descending
+     *         order of count, ties in alphabetical order of username
+     * @throws IllegalArgumentException if k < 0
+     */
+    public List<HeavyHitter> top(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must be nonnegative: " + k);
+        }
+        List<HeavyHitter> all = new ArrayList<>(size);
+        for (int s = 0; s < size; s++) {
+            all.add(new HeavyHitter(users.name(ids[s]), counts[s], errors[s]));
+        }
+        all.sort((h1, h2) -> {
+            if (h1.count != h2.count) return Long.compare(h2.count, h1.count);
+            return h1.username.compareTo(h2.username);
+        });
+        return new ArrayList<>(all.subList(0, Math.min(k, all.size())));
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (counts[heap[parent]] <= counts[heap[i]]) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                return;
+            }
+            int child = left + 1 < size && counts[heap[left + 1]] < counts[heap[left]] ? left + 1 : left;
+            if (counts[heap[i]] <= counts[heap[child]]) {
+                return;
+            }
+            swap(i, child);
+            i = child;
+        }
+    }
+
+    private void swap(int i, int j) {
+        int a = heap[i];
+        int b = heap[j];
+        heap[i] = b;
+        heap[j] = a;
+        heapIndex[b] = i;
+        heapIndex[a] = j;
+    }
+}
@@ -0,0 +1,106 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Finds username-mentions in tweet text in a single pass over its characters,
+ * without regular expressions or substrings.
+ *
+ * A mention is "@" followed by one or more username characters (A-Z, a-z,
+ * 0-9, _), taking as many as follow, where the "@" is not immediately preceded
+ * by a username character. These are the mentions Extract.getMentionedUsers
+ * reports.
+ *
+ * Hashtags are found by the same rule with "#" in place of "@", except that a
+ * hashtag must contain at least one character that is not a digit, so "#1" is
+ * not a hashtag. These are the hashtags Extract.getHashtags reports.
+ */
+public class MentionScanner {
+
+    /**
+     * Receives the position of each mention found in a text.
+     */
+    public interface MentionConsumer {
+        /**
+         * @param start index in the text of the first character of the
+         *              mentioned username (just after the "@")
+         * @param end index just past the last character of the username
+         */
+        void accept(int start, int end);
+    }
+
+    private MentionScanner() {
+    }
+
+    /**
+     * Find the mentions in a text.
+     *
+     * @param text text of a tweet
+     * @param sink receives the position of each mention, in order of
+     *             appearance, repeats included
+     */
+    public static void forEachMention(CharSequence text, MentionConsumer sink) {
+        forEachTag(text, '@', true, sink);
+    }
+
+    /**
+     * Find the hashtags in a text.
+     *
+     * @param text text of a tweet
+     * @param sink receives the position of each hashtag (excluding the "#"),
+     *             in order of appearance, repeats included
+     */
+    public static void forEachHashtag(CharSequence text, MentionConsumer sink) {
+        forEachTag(text, '#', false, sink);
+    }
+
+    /**
+     * Find the mentions in a text, as ids.
+     *
+     * @param text text of a tweet
+     * @param users dictionary to intern mentioned usernames into
+     * @param sink receives the id in users of each mentioned username, in
+     *             order of appearance, repeats included
+     */
+    public static void forEachMentionId(CharSequence text, UsernameDictionary users, IntConsumer sink) {
+        forEachMention(text, (start, end) -> sink.accept(users.intern(text, start, end)));
+    }
+
+    /*
+     * Find each sigil not preceded by a username character and followed by
+     * one or more username characters (not all digits, unless allDigits).
+     */
+    private static void forEachTag(CharSequence text, char sigil, boolean allDigits, MentionConsumer sink) {
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            if (text.charAt(i) != sigil || (i > 0 && isUsernameChar(text.charAt(i - 1)))) {
+                i++;
+                continue;
+            }
+            int end = i + 1;
+            boolean digitsOnly = true;
+            while (end < length && isUsernameChar(text.charAt(end))) {
+                char c = text.charAt(end);
+                digitsOnly &= c >= '0' && c <= '9';
+                end++;
+            }
+            if (end > i + 1 && (allDigits || !digitsOnly)) {
+                sink.accept(i + 1, end);
+                i = end;
+            } else {
+                i++;
+            }
+        }
+    }
+
+    /**
+     * @return true iff c may appear in a mentioned username
+     */
+    static boolean isUsernameChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+}
@@ -0,0 +1,109 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * Runs a scan over a list of tweets on a fork-join pool: the list is split
+ * into contiguous ranges, each range is scanned sequentially, and the partial
+ * results are merged pairwise, left before right.
+ */
+class ParallelScan {
+
+    /*
+     * Lists no larger than this are scanned sequentially on the calling thread.
+     */
+    static final int SEQUENTIAL_THRESHOLD = 1 << 13;
+
+    /*
+     * Smallest range scanned by one task.
+     */
+    private static final int MIN_LEAF_SIZE = 1 << 11;
+
+    private ParallelScan() {
+    }
+
+    /**
+     * Scan a list of tweets, in parallel if it is large enough.
+     *
+     * @param tweets list to scan, not modified
+     * @param pool pool to scan on
+     * @param threshold lists of at most this many tweets are scanned by one
+     *                  call to leaf on the calling thread
+     * @param leaf scans a contiguous range of tweets (a view of tweets); must
+     *             be safe to call from several threads at once
+     * @param merge combines the results for two adjacent ranges, left first;
+     *              may modify and return either argument
+     * @return leaf(tweets), as computed by merging the results of ranges
+     */
+    static <R> R reduce(List<Tweet> tweets, ForkJoinPool pool, int threshold,
+                        Function<List<Tweet>, R> leaf, BinaryOperator<R> merge) {
+        if (tweets.size() <= threshold) {
+            return leaf.apply(tweets);
+        }
+        List<Tweet> list = tweets instanceof RandomAccess ? tweets : new ArrayList<>(tweets);
+        int leafSize = Math.max(MIN_LEAF_SIZE, list.size() / (4 * pool.getParallelism()));
+        return pool.invoke(new Scan<>(list, 0, list.size(), leafSize, leaf, merge));
+    }
+
+    /**
+     * Scan a list of tweets, in parallel if it is larger than
+     * SEQUENTIAL_THRESHOLD; see reduce(tweets, pool, threshold, leaf, merge).
+     */
+    static <R> R reduce(List<Tweet> tweets, ForkJoinPool pool,
+                        Function<List<Tweet>, R> leaf, BinaryOperator<R> merge) {
+        return reduce(tweets, pool, SEQUENTIAL_THRESHOLD, leaf, merge);
+    }
+
+    /**
+     * Merge two filter results by concatenation.
+     *
+     * @param left result for the earlier range; modified
+     * @param right result for the later range, not modified
+     * @return left followed by right
+     */
+    static List<Tweet> concat(List<Tweet> left, List<Tweet> right) {
+        left.addAll(right);
+        return left;
+    }
+
+    private static class Scan<R> extends RecursiveTask<R> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Tweet> tweets;
+        private final int start;
+        private final int end;
+        private final int leafSize;
+        private final Function<List<Tweet>, R> leaf;
+        private final BinaryOperator<R> merge;
+
+        Scan(List<Tweet> tweets, int start, int end, int leafSize,
+             Function<List<Tweet>, R> leaf, BinaryOperator<R> merge) {
+            this.tweets = tweets;
+            this.start = start;
+            this.end = end;
+            this.leafSize = leafSize;
+            this.leaf = leaf;
+            this.merge = merge;
+        }
+
+        @Override protected R compute() {
+            if (end - start <= leafSize) {
+                return leaf.apply(tweets.subList(start, end));
+            }
+            int mid = (start + end) >>> 1;
+            Scan<R> right = new Scan<>(tweets, mid, end, leafSize, leaf, merge);
+            right.fork();
+            R left = new Scan<>(tweets, start, mid, leafSize, leaf, merge).compute();
+            return merge.apply(left, right.join());
+        }
+    }
+}
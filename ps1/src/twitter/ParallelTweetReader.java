@@ -0,0 +1,369 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import javax.json.JsonException;
+
+/**
+ * Read tweets on several threads at once. The input is split into chunks that
+ * begin and end on record boundaries, the chunks are decoded in parallel on a
+ * fork-join pool, and the results are merged into one list.
+ *
+ * Two input layouts are accepted: newline-delimited JSON (one tweet object per
+ * line), and a JSON array of tweet objects as served by Main.SAMPLE_SERVER.
+ */
+public class ParallelTweetReader {
+
+    /*
+     * Bytes of newline-delimited input decoded by one task without splitting.
+     */
+    private static final int CHUNK_BYTES = 1 << 20;
+
+    /*
+     * Array elements decoded by one task without splitting.
+     */
+    private static final int CHUNK_ELEMENTS = 2048;
+
+    /*
+     * Largest region of a file mapped at once.
+     */
+    private static final int WINDOW_SIZE = 1 << 30;
+
+    /**
+     * Read every tweet in a newline-delimited JSON file, in parallel on the
+     * common fork-join pool, keeping file order.
+     *
+     * @param file path of a file holding one tweet object per line
+     * @return the tweets in the file, in file order
+     * @throws IOException if the file cannot be opened or read
+     * @throws JsonException if a line is not a well-formed tweet object
+     */
+    public static List<Tweet> readTweets(Path file) throws IOException {
+        return readTweets(file, ForkJoinPool.commonPool(), true);
+    }
+
+    /**
+     * Read every tweet in a newline-delimited JSON file, in parallel.
+     *
+     * @param file path of a file holding one tweet object per line
+     * @param pool pool to decode on
+     * @param preserveOrder if true, the result is in file order; if false, the
+     *                      result holds the same tweets in an unspecified order
+     * @return the tweets in the file
+     * @throws IOException if the file cannot be opened or read
+     * @throws JsonException if a line is not a well-formed tweet object
+     */
+    public static List<Tweet> readTweets(Path file, ForkJoinPool pool, boolean preserveOrder) throws IOException {
+        Queue<List<Tweet>> unordered = preserveOrder ? null : new ConcurrentLinkedQueue<>();
+        List<List<Tweet>> parts = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long offset = 0;
+            while (offset < size) {
+                int length = (int) Math.min(WINDOW_SIZE, size - offset);
+                boolean last = offset + length == size;
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+                int usable = last ? length : lastNewline(window, length) + 1;
+                if (usable == 0) {
+                    throw new JsonException("line at byte " + offset + " is longer than " + WINDOW_SIZE + " bytes");
+                }
+                Chunk root = new LineChunk(window, 0, usable, unordered);
+                pool.invoke(root);
+                root.collect(parts);
+                offset += usable;
+            }
+        }
+        if (unordered != null) {
+            parts.addAll(unordered);
+        }
+        return concat(parts);
+    }
+
+    /**
+     * Download tweets from a web server and decode them in parallel.
+     *
+     * @param url URL of server to retrieve tweets from; the response may be a
+     *            JSON array of tweets or newline-delimited JSON
+     * @param pool pool to decode on
+     * @param preserveOrder if true, the result is in response order; if false,
+     *                      the result holds the same tweets in an unspecified order
+     * @return the tweets retrieved from the server
+     * @throws IOException if the url is invalid, the server is unreachable,
+     *                     or some other network-related error occurs.
+     */
+    public static List<Tweet> readTweetsFromWeb(URL url, ForkJoinPool pool, boolean preserveOrder) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (InputStream in = url.openStream()) {
+            byte[] block = new byte[1 << 16];
+            for (int n = in.read(block); n >= 0; n = in.read(block)) {
+                bytes.write(block, 0, n);
+            }
+        }
+        return readTweets(ByteBuffer.wrap(bytes.toByteArray()), pool, preserveOrder);
+    }
+
+    /**
+     * Decode tweets held in a buffer, in parallel.
+     *
+     * @param buf UTF-8 bytes between position and limit holding either a JSON
+     *            array of tweet objects or newline-delimited tweet objects;
+     *            not modified
+     * @param pool pool to decode on
+     * @param preserveOrder if true, the result is in input order; if false, the
+     *                      result holds the same tweets in an unspecified order
+     * @return the tweets in the buffer
+     * @throws JsonException if the input is not well-formed
+     */
+    public static List<Tweet> readTweets(ByteBuffer buf, ForkJoinPool pool, boolean preserveOrder) {
+        Queue<List<Tweet>> unordered = preserveOrder ? null : new ConcurrentLinkedQueue<>();
+        int start = buf.position();
+        int end = buf.limit();
+        while (start < end && isWhitespace(buf.get(start))) {
+            start++;
+        }
+        Chunk root;
+        if (start < end && buf.get(start) == '[') {
+            int[] bounds = arrayElementBounds(buf, start, end);
+            root = new ElementChunk(buf, bounds, 0, bounds.length / 2, unordered);
+        } else {
+            root = new LineChunk(buf, start, end, unordered);
+        }
+        pool.invoke(root);
+        List<List<Tweet>> parts = new ArrayList<>();
+        if (unordered != null) {
+            parts.addAll(unordered);
+        } else {
+            root.collect(parts);
+        }
+        return concat(parts);
+    }
+
+    private static List<Tweet> concat(List<List<Tweet>> parts) {
+        int total = 0;
+        for (List<Tweet> part : parts) {
+            total += part.size();
+        }
+        List<Tweet> all = new ArrayList<>(total);
+        for (List<Tweet> part : parts) {
+            all.addAll(part);
+        }
+        return all;
+    }
+
+    /*
+     * Find the elements of a top-level JSON array with a structural scan that
+     * tracks only strings and nesting depth.
+     *
+     * @return pairs (start, end) of absolute byte indices, one per element
+     */
+    private static int[] arrayElementBounds(ByteBuffer buf, int start, int end) {
+        int[] bounds = new int[64];
+        int count = 0;
+        int depth = 0;
+        int elementStart = -1;
+        boolean afterComma = false;
+        boolean inString = false;
+        for (int i = start; i < end; i++) {
+            byte b = buf.get(i);
+            if (inString) {
+                if (b == '\\') {
+                    i++;
+                } else if (b == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+            if (depth == 1 && elementStart < 0 && !isWhitespace(b) && b != ',' && b != ']') {
+                elementStart = i;
+            }
+            if (b == '"') {
+                inString = true;
+            } else if (b == '{' || b == '[') {
+                depth++;
+            } else if ((b == ',' && depth == 1) || ((b == '}' || b == ']') && --depth == 0)) {
+                if (elementStart >= 0) {
+                    if (count + 2 > bounds.length) {
+                        bounds = Arrays.copyOf(bounds, bounds.length * 2);
+                    }
+                    bounds[count++] = elementStart;
+                    bounds[count++] = i;
+                } else if (b == ',' || afterComma) {
+                    throw new JsonException("missing array element at byte " + i);
+                }
+                elementStart = -1;
+                afterComma = b == ',';
+                if (depth == 0) {
+                    if (!TweetRecordDecoder.isBlank(buf, i + 1, end)) {
+                        throw new JsonException("unexpected data after array at byte " + (i + 1));
+                    }
+                    return Arrays.copyOf(bounds, count);
+                }
+            }
+        }
+        throw new JsonException("unterminated array of tweets");
+    }
+
+    private static int lastNewline(ByteBuffer buf, int end) {
+        for (int i = end - 1; i >= 0; i--) {
+            if (buf.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    /*
+     * A fork-join task over part of the input. A task either decodes its part
+     * itself (a leaf) or splits it between two children. Leaves keep their
+     * tweets so the tree can be walked in input order afterwards, or, when
+     * order does not matter, hand them straight to a shared queue.
+     */
+    private abstract static class Chunk extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final Queue<List<Tweet>> unordered;
+        private Chunk left;
+        private Chunk right;
+        private List<Tweet> tweets;
+
+        Chunk(Queue<List<Tweet>> unordered) {
+            this.unordered = unordered;
+        }
+
+        /*
+         * Decode this chunk, or return two children covering it.
+         */
+        abstract Chunk[] splitOrDecode();
+
+        @Override protected final void compute() {
+            Chunk[] children = splitOrDecode();
+            if (children != null) {
+                left = children[0];
+                right = children[1];
+                invokeAll(left, right);
+            }
+        }
+
+        final Queue<List<Tweet>> unordered() {
+            return unordered;
+        }
+
+        final void finish(List<Tweet> decoded) {
+            if (unordered != null) {
+                unordered.add(decoded);
+            } else {
+                tweets = decoded;
+            }
+        }
+
+        /*
+         * Append the leaves' tweets in input order. Requires this task done.
+         */
+        final void collect(List<List<Tweet>> parts) {
+            if (left != null) {
+                left.collect(parts);
+                right.collect(parts);
+            } else if (tweets != null) {
+                parts.add(tweets);
+            }
+        }
+    }
+
+    /*
+     * Decodes a range of newline-delimited records, splitting it at a newline
+     * near the middle while it is larger than CHUNK_BYTES.
+     */
+    private static class LineChunk extends Chunk {
+        private static final long serialVersionUID = 1L;
+        private final ByteBuffer buf;
+        private final int start;
+        private final int end;
+
+        LineChunk(ByteBuffer buf, int start, int end, Queue<List<Tweet>> unordered) {
+            super(unordered);
+            this.buf = buf;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override Chunk[] splitOrDecode() {
+            int split = end - start > CHUNK_BYTES ? splitPoint() : -1;
+            if (split >= 0) {
+                return new Chunk[] { new LineChunk(buf, start, split, unordered()),
+                                     new LineChunk(buf, split, end, unordered()) };
+            }
+            List<Tweet> decoded = new ArrayList<>();
+            MappedTweetReader.forEachRecord(buf, start, end, true, new TweetRecordDecoder(), decoded::add);
+            finish(decoded);
+            return null;
+        }
+
+        /*
+         * @return index just past the first newline at or after the middle of
+         *         the range, or -1 if there is none before end
+         */
+        private int splitPoint() {
+            for (int i = start + (end - start) / 2; i < end - 1; i++) {
+                if (buf.get(i) == '\n') {
+                    return i + 1;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /*
+     * Decodes a range of array elements, given as (start, end) pairs.
+     */
+    private static class ElementChunk extends Chunk {
+        private static final long serialVersionUID = 1L;
+        private final ByteBuffer buf;
+        private final int[] bounds;
+        private final int from;
+        private final int to;
+
+        ElementChunk(ByteBuffer buf, int[] bounds, int from, int to, Queue<List<Tweet>> unordered) {
+            super(unordered);
+            this.buf = buf;
+            this.bounds = bounds;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override Chunk[] splitOrDecode() {
+            if (to - from > CHUNK_ELEMENTS) {
+                int mid = (from + to) >>> 1;
+                return new Chunk[] { new ElementChunk(buf, bounds, from, mid, unordered()),
+                                     new ElementChunk(buf, bounds, mid, to, unordered()) };
+            }
+            TweetRecordDecoder decoder = new TweetRecordDecoder();
+            List<Tweet> decoded = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                decoded.add(decoder.decode(buf, bounds[2 * i], bounds[2 * i + 1]));
+            }
+            finish(decoded);
+            return null;
+        }
+    }
+}
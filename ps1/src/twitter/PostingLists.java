@@ -0,0 +1,84 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.util.List;
+
+/**
+ * Operations on posting lists: arrays of positions in ascending order without
+ * repeats, as kept by the indexes in this package.
+ */
+class PostingLists {
+
+    private PostingLists() {
+    }
+
+    /**
+     * Merge posting lists, keeping a heap of the lists ordered by their next
+     * position: O(m log k) time for k lists holding m positions in all.
+     *
+     * @param lists posting lists, not modified
+     * @return a new posting list of the positions in any of lists
+     */
+    static int[] union(List<int[]> lists) {
+        int k = lists.size();
+        if (k == 0) {
+            return new int[0];
+        }
+        if (k == 1) {
+            return lists.get(0).clone();
+        }
+        int total = 0;
+        int[] heap = new int[k];
+        int[] cursors = new int[k];
+        int size = 0;
+        for (int list = 0; list < k; list++) {
+            total += lists.get(list).length;
+            if (lists.get(list).length > 0) {
+                heap[size] = list;
+                for (int i = size++; i > 0 && head(lists, cursors, heap[i]) < head(lists, cursors, heap[(i - 1) / 2]); i = (i - 1) / 2) {
+                    swap(heap, i, (i - 1) / 2);
+                }
+            }
+        }
+        IntArrayList merged = new IntArrayList(total);
+        while (size > 0) {
+            int list = heap[0];
+            int position = head(lists, cursors, list);
+            if (merged.size() == 0 || merged.get(merged.size() - 1) != position) {
+                merged.add(position);
+            }
+            if (++cursors[list] == lists.get(list).length) {
+                heap[0] = heap[--size];
+            }
+            siftDown(heap, size, lists, cursors);
+        }
+        return merged.toArray();
+    }
+
+    private static int head(List<int[]> lists, int[] cursors, int list) {
+        return lists.get(list)[cursors[list]];
+    }
+
+    private static void siftDown(int[] heap, int size, List<int[]> lists, int[] cursors) {
+        int i = 0;
+        while (2 * i + 1 < size) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && head(lists, cursors, heap[child + 1]) < head(lists, cursors, heap[child])) {
+                child++;
+            }
+            if (head(lists, cursors, heap[child]) >= head(lists, cursors, heap[i])) {
+                return;
+            }
+            swap(heap, i, child);
+            i = child;
+        }
+    }
+
+    private static void swap(int[] heap, int i, int j) {
+        int t = heap[i];
+        heap[i] = heap[j];
+        heap[j] = t;
+    }
+}
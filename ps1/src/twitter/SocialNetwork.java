@@ -4,12 +4,16 @@
 package twitter;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
 
 /**
  * SocialNetwork provides methods that operate on a social network.
@@ -53,36 +57,173 @@ public class SocialNetwork {
              return followsGraph; // empty
          }
 
-/*
- * check all the tweets and get the author create an entry fo this author if not exists and then check the mentioned users if he mentioned
- * him self ignore other wise add all this to his adjacency in a set data structure that will automatically ignore the duplicates*/
-         for (Tweet t : tweets) {
-             if (t == null) continue;
-
-             // normalize author
-             String author = t.getAuthor();
-             if (author == null) continue;
-             author = author.toLowerCase();
-
-             // ensure author exists as key
-             followsGraph.computeIfAbsent(author, k -> new HashSet<>());
-
-             // get the mentioned users for this single tweet
-             Set<String> mentioned = Extract.getMentionedUsers(Collections.singletonList(t));
-
-             // add each mentioned user (normalized) to author's follow-set, excluding self
-             for (String m : mentioned) {
-                 if (m == null) continue;
-                 String mentionedUser = m.toLowerCase();
-                 if (!mentionedUser.equals(author)) {
-                     followsGraph.get(author).add(mentionedUser);
-                 }
+         UsernameDictionary users = new UsernameDictionary();
+         int[][] follows = guessFollowsGraph(tweets, users);
+         for (int author = 0; author < follows.length; author++) {
+             if (follows[author] == null) continue;
+             Set<String> followees = new HashSet<>();
+             for (int followee : follows[author]) {
+                 followees.add(users.name(followee));
              }
+             followsGraph.put(users.name(author), followees);
          }
 
          return followsGraph;
     }
 
+    /**
+     * Guess who might follow whom, as guessFollowsGraph(tweets) does, building
+     * in parallel. Each task collects the mentions in a range of the tweets as
+     * pairs of ids over its own username dictionary, with no shared state.
+     * Two partial results merge by interning the smaller dictionary into the
+     * larger and appending its pairs, renumbered. The pairs are then grouped
+     * into sorted rows without repeats, as in CsrFollowsGraph, and only those
+     * rows become the map.
+     * 
+     * The extra merge work only pays off with several workers; with a pool of
+     * parallelism 1 this is guessFollowsGraph(tweets). No caller in this
+     * package uses this method: the sequential builder stays the default
+     * until a speedup has been measured on a multi-core machine.
+     * 
+     * @param tweets
+     *            a list of tweets providing the evidence, not modified by this
+     *            method.
+     * @param pool
+     *            pool to build on; small lists, and any list when the pool
+     *            has parallelism 1, are built on the calling thread.
+     * @return a social network equal to guessFollowsGraph(tweets).
+     */
+    public static Map<String, Set<String>> guessFollowsGraph(List<Tweet> tweets, ForkJoinPool pool) {
+        if (tweets == null) {
+            return new HashMap<>();
+        }
+        if (pool.getParallelism() == 1) {
+            return guessFollowsGraph(tweets);
+        }
+        MentionEdges edges = ParallelScan.reduce(tweets, pool, MentionEdges::scan, MentionEdges::merge);
+        return CsrFollowsGraph.fromEdges(edges.users, edges.authors, edges.from, edges.to).toMap();
+    }
+
+    /*
+     * Mention edges found in a range of tweets, as ids over a dictionary of
+     * their own: authors holds the author of each tweet, and from.get(i)
+     * mentions to.get(i), self-mentions excluded, repeats kept.
+     */
+    private static class MentionEdges {
+        private final UsernameDictionary users = new UsernameDictionary();
+        private final IntArrayList authors = new IntArrayList();
+        private final IntArrayList from = new IntArrayList();
+        private final IntArrayList to = new IntArrayList();
+
+        static MentionEdges scan(List<Tweet> tweets) {
+            MentionEdges edges = new MentionEdges();
+            for (Tweet t : tweets) {
+                if (t == null || t.getAuthor() == null) continue;
+                int author = edges.users.intern(t.getAuthor());
+                edges.authors.add(author);
+                MentionScanner.forEachMentionId(t.getText(), edges.users, followee -> {
+                    if (followee != author) {
+                        edges.from.add(author);
+                        edges.to.add(followee);
+                    }
+                });
+            }
+            return edges;
+        }
+
+        /*
+         * @return whichever of left and right has the larger dictionary, with
+         *         the other's authors and edges added, renumbered into it
+         */
+        static MentionEdges merge(MentionEdges left, MentionEdges right) {
+            MentionEdges larger = left.users.size() >= right.users.size() ? left : right;
+            MentionEdges smaller = larger == left ? right : left;
+            int[] renumber = new int[smaller.users.size()];
+            for (int id = 0; id < renumber.length; id++) {
+                renumber[id] = larger.users.intern(smaller.users.name(id));
+            }
+            for (int i = 0; i < smaller.authors.size(); i++) {
+                larger.authors.add(renumber[smaller.authors.get(i)]);
+            }
+            for (int i = 0; i < smaller.from.size(); i++) {
+                larger.from.add(renumber[smaller.from.get(i)]);
+                larger.to.add(renumber[smaller.to.get(i)]);
+            }
+            return larger;
+        }
+    }
+
+    /**
+     * Guess who might follow whom, as guessFollowsGraph(tweets) does, but with
+     * usernames interned as ids.
+     * 
+     * @param tweets
+     *            a list of tweets providing the evidence, not modified by this
+     *            method.
+     * @param users
+     *            dictionary to intern authors and mentioned usernames into.
+     * @return an array with one element per id in users: for an author of one
+     *         of the tweets, the ids of the users that author follows, in
+     *         ascending order without repeats; for anyone else, null.
+     */
+    public static int[][] guessFollowsGraph(List<Tweet> tweets, UsernameDictionary users) {
+        return guessFollowsGraph(tweets, users, t -> { }, id -> { });
+    }
+
+    /**
+     * Guess who might follow whom, as guessFollowsGraph(tweets, users) does,
+     * also reporting each tweet and each mention as it is found, so callers
+     * can gather other statistics in the same pass.
+     * 
+     * @param tweets
+     *            a list of tweets providing the evidence, not modified by this
+     *            method.
+     * @param users
+     *            dictionary to intern authors and mentioned usernames into.
+     * @param onTweet
+     *            called with each tweet, in order.
+     * @param onMention
+     *            called with the id of each mention, self-mentions included,
+     *            in order.
+     * @return the graph guessFollowsGraph(tweets, users) returns.
+     */
+    static int[][] guessFollowsGraph(List<Tweet> tweets, UsernameDictionary users,
+                                     Consumer<Tweet> onTweet, IntConsumer onMention) {
+        List<IntArrayList> follows = new ArrayList<>();
+
+        // every author gets a list, even with no mentions; self-mentions are
+        // skipped, and repeats are dropped when the lists become arrays
+        for (Tweet t : tweets) {
+            if (t == null || t.getAuthor() == null) continue;
+            onTweet.accept(t);
+
+            int author = users.intern(t.getAuthor());
+            while (follows.size() <= author) {
+                follows.add(null);
+            }
+            if (follows.get(author) == null) {
+                follows.set(author, new IntArrayList());
+            }
+            IntArrayList followees = follows.get(author);
+
+            // ids compare equal exactly when usernames match case-insensitively
+            MentionScanner.forEachMentionId(t.getText(), users, followee -> {
+                onMention.accept(followee);
+                if (followee != author) {
+                    followees.add(followee);
+                }
+            });
+        }
+
+        int[][] graph = new int[users.size()][];
+        for (int author = 0; author < follows.size(); author++) {
+            if (follows.get(author) != null) {
+                graph[author] = follows.get(author).toSortedDistinctArray();
+            }
+        }
+        return graph;
+    }
+
     /**
      * Find the people in a social network who have the greatest influence, in
      * the sense that they have the most followers.
@@ -135,4 +276,218 @@ public class SocialNetwork {
     	    return users;
     }
 
+    /**
+     * Find the people in a CSR social network who have the greatest
+     * influence, as influencers(followsGraph.toMap()) does, without building
+     * the map.
+     * 
+     * @param followsGraph
+     *            a social network in CSR form
+     * @return a list of all distinct Twitter usernames in followsGraph, in
+     *         lowercase, in descending order of follower count, ties in
+     *         alphabetical order.
+     */
+    public static List<String> influencers(CsrFollowsGraph followsGraph) {
+        int[] vertices = sortVertices(followsGraph.followerCounts(), v -> true, followsGraph::name);
+        List<String> users = new ArrayList<>(vertices.length);
+        for (int v : vertices) {
+            users.add(followsGraph.name(v));
+        }
+        return users;
+    }
+
+    /**
+     * Find the k people in a social network who have the greatest influence,
+     * without sorting everyone: O(n log k) time for n users.
+     * 
+     * Counts go in an int array indexed by a per-call id. Usernames are
+     * mapped to those ids with a HashMap, not a UsernameDictionary, because
+     * this method, like influencers(followsGraph), treats usernames that
+     * differ only in case as distinct, and the dictionary would merge them.
+     * Each distinct username is boxed into the map once, and Strings cache
+     * their hash codes.
+     * 
+     * @param followsGraph
+     *            a social network (as defined above)
+     * @param k
+     *            number of users wanted, at least 0
+     * @return the first k elements (or all, if there are fewer) of
+     *         influencers(followsGraph): usernames in descending order of
+     *         follower count, ties in alphabetical order.
+     * @throws IllegalArgumentException if k < 0
+     */
+    public static List<String> topInfluencers(Map<String, Set<String>> followsGraph, int k) {
+        if (k < 0) throw new IllegalArgumentException("k must be nonnegative: " + k);
+        if (followsGraph == null) return new ArrayList<>();
+
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        IntArrayList counts = new IntArrayList();
+        for (Map.Entry<String, Set<String>> e : followsGraph.entrySet()) {
+            intern(e.getKey(), ids, names, counts);
+            if (e.getValue() == null) continue;
+            for (String followee : e.getValue()) {
+                if (followee == null) continue;
+                int id = intern(followee, ids, names, counts);
+                counts.set(id, counts.get(id) + 1);
+            }
+        }
+        int[] top = topVertices(counts.toArray(), id -> true, names::get, k);
+        List<String> result = new ArrayList<>(top.length);
+        for (int id : top) {
+            result.add(names.get(id));
+        }
+        return result;
+    }
+
+    /**
+     * Find the k people in a CSR social network who have the greatest
+     * influence, in O(n log k) time for n users.
+     * 
+     * @param followsGraph
+     *            a social network in CSR form
+     * @param k
+     *            number of users wanted, at least 0
+     * @return the first k elements (or all, if there are fewer) of
+     *         influencers(followsGraph).
+     * @throws IllegalArgumentException if k < 0
+     */
+    public static List<String> topInfluencers(CsrFollowsGraph followsGraph, int k) {
+        if (k < 0) throw new IllegalArgumentException("k must be nonnegative: " + k);
+        int[] top = topVertices(followsGraph.followerCounts(), v -> true, followsGraph::name, k);
+        List<String> result = new ArrayList<>(top.length);
+        for (int v : top) {
+            result.add(followsGraph.name(v));
+        }
+        return result;
+    }
+
+    /**
+     * Select the best k vertices with a bounded heap, in O(n log k) time for
+     * n vertices.
+     * 
+     * @param counts follower count of each vertex
+     * @param present which vertices to consider
+     * @param name name of each vertex, for breaking ties
+     * @param k number of vertices wanted, at least 0
+     * @return up to k of the vertices present, in descending order of count,
+     *         ties in ascending order of name
+     */
+    static int[] topVertices(int[] counts, IntPredicate present, IntFunction<String> name, int k) {
+        // min-heap with the worst vertex kept at the root
+        int[] heap = new int[Math.min(k, counts.length)];
+        int size = 0;
+        for (int v = 0; v < counts.length; v++) {
+            if (heap.length == 0 || !present.test(v)) continue;
+            if (size < heap.length) {
+                heap[size] = v;
+                for (int i = size++; i > 0 && worse(heap[i], heap[(i - 1) / 2], counts, name); i = (i - 1) / 2) {
+                    swap(heap, i, (i - 1) / 2);
+                }
+            } else if (worse(heap[0], v, counts, name)) {
+                heap[0] = v;
+                siftDown(heap, 0, size, counts, name);
+            }
+        }
+        // pop the worst repeatedly, filling the result from the back
+        int[] result = new int[size];
+        for (int n = size; n > 0; n--) {
+            result[n - 1] = heap[0];
+            heap[0] = heap[n - 1];
+            siftDown(heap, 0, n - 1, counts, name);
+        }
+        return result;
+    }
+
+    /**
+     * Sort vertices with a merge sort over int arrays, in O(n log n) time for
+     * n vertices and no boxing.
+     * 
+     * @param counts follower count of each vertex
+     * @param present which vertices to include
+     * @param name name of each vertex, for breaking ties
+     * @return all the vertices present, in descending order of count, ties in
+     *         ascending order of name
+     */
+    static int[] sortVertices(int[] counts, IntPredicate present, IntFunction<String> name) {
+        IntArrayList included = new IntArrayList();
+        for (int v = 0; v < counts.length; v++) {
+            if (present.test(v)) {
+                included.add(v);
+            }
+        }
+        int[] vertices = included.toArray();
+        int[] buffer = new int[vertices.length];
+        // bottom-up: merge sorted runs of width 1, 2, 4, ... back and forth
+        for (int width = 1; width < vertices.length; width *= 2) {
+            for (int lo = 0; lo < vertices.length; lo += 2 * width) {
+                int mid = Math.min(lo + width, vertices.length);
+                int hi = Math.min(lo + 2 * width, vertices.length);
+                int i = lo;
+                int j = mid;
+                for (int out = lo; out < hi; out++) {
+                    if (j >= hi || (i < mid && compareVertices(vertices[i], vertices[j], counts, name) <= 0)) {
+                        buffer[out] = vertices[i++];
+                    } else {
+                        buffer[out] = vertices[j++];
+                    }
+                }
+            }
+            int[] t = vertices;
+            vertices = buffer;
+            buffer = t;
+        }
+        return vertices;
+    }
+
+    /**
+     * Compare vertices in influencer order: descending count, then ascending
+     * name.
+     * 
+     * @return negative if v1 ranks before v2, positive if after, 0 if they
+     *         have the same count and name
+     */
+    static int compareVertices(int v1, int v2, int[] counts, IntFunction<String> name) {
+        if (counts[v1] != counts[v2]) return Integer.compare(counts[v2], counts[v1]);
+        return name.apply(v1).compareTo(name.apply(v2));
+    }
+
+    private static boolean worse(int v1, int v2, int[] counts, IntFunction<String> name) {
+        return compareVertices(v1, v2, counts, name) > 0;
+    }
+
+    private static void siftDown(int[] heap, int i, int size, int[] counts, IntFunction<String> name) {
+        while (2 * i + 1 < size) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && worse(heap[child + 1], heap[child], counts, name)) {
+                child++;
+            }
+            if (!worse(heap[child], heap[i], counts, name)) {
+                return;
+            }
+            swap(heap, i, child);
+            i = child;
+        }
+    }
+
+    private static void swap(int[] heap, int i, int j) {
+        int t = heap[i];
+        heap[i] = heap[j];
+        heap[j] = t;
+    }
+
+    /*
+     * @return the id of username in ids, adding it with a zero count if new
+     */
+    private static int intern(String username, Map<String, Integer> ids, List<String> names, IntArrayList counts) {
+        Integer id = ids.get(username);
+        if (id == null) {
+            id = names.size();
+            ids.put(username, id);
+            names.add(username);
+            counts.add(0);
+        }
+        return id;
+    }
+
 }
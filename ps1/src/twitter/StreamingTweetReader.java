@@ -0,0 +1,237 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URL;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+import javax.json.Json;
+import javax.json.JsonException;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParser.Event;
+
+/**
+ * Read tweets from a stream using the event-based JSON parser, one tweet at a
+ * time. Accepts the same input as TweetReader (a JSON array of tweet objects),
+ * but only decodes the fields that Tweet needs and never holds more than one
+ * tweet's fields in memory.
+ */
+public class StreamingTweetReader {
+
+    /**
+     * Stream tweets from a web server.
+     *
+     * @param url URL of server to retrieve tweets from
+     * @param sink receives each tweet, in the order they appear in the response
+     * @throws IOException if the url is invalid, the server is unreachable,
+     *                     or some other network-related error occurs.
+     */
+    public static void readTweetsFromWeb(URL url, Consumer<? super Tweet> sink) throws IOException {
+        try (Reader reader = new InputStreamReader(url.openStream())) {
+            readTweets(reader, sink);
+        }
+    }
+
+    /**
+     * Stream tweets from a reader holding a JSON array of tweet objects.
+     *
+     * @param reader source of JSON text, not closed by this method
+     * @param sink receives each tweet, in the order they appear in the input
+     * @throws JsonException if the input is not an array of tweet objects
+     */
+    public static void readTweets(Reader reader, Consumer<? super Tweet> sink) {
+        Iterator<Tweet> tweets = iterateTweets(reader);
+        while (tweets.hasNext()) {
+            sink.accept(tweets.next());
+        }
+    }
+
+    /**
+     * Lazily iterate over tweets from a reader holding a JSON array of tweet
+     * objects. Each call to next() parses just enough input to produce one
+     * tweet.
+     *
+     * @param reader source of JSON text, not closed by the iterator
+     * @return an iterator over the tweets in input order; its methods throw
+     *         JsonException if the input is not an array of tweet objects
+     */
+    public static Iterator<Tweet> iterateTweets(Reader reader) {
+        return new TweetIterator(Json.createParser(reader));
+    }
+
+    /*
+     * Pulls one tweet object at a time out of the enclosing array.
+     */
+    private static class TweetIterator implements Iterator<Tweet> {
+
+        private final JsonParser parser;
+        private boolean started = false;
+        private boolean finished = false;
+        private Tweet pending = null;
+
+        TweetIterator(JsonParser parser) {
+            this.parser = parser;
+        }
+
+        @Override public boolean hasNext() {
+            if (pending == null && !finished) {
+                pending = fetch();
+            }
+            return pending != null;
+        }
+
+        @Override public Tweet next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Tweet tweet = pending;
+            pending = null;
+            return tweet;
+        }
+
+        private Tweet fetch() {
+            if (!started) {
+                started = true;
+                if (!parser.hasNext() || parser.next() != Event.START_ARRAY) {
+                    throw new JsonException("expected an array of tweets");
+                }
+            }
+            if (!parser.hasNext()) {
+                throw new JsonException("unterminated array of tweets");
+            }
+            Event event = parser.next();
+            if (event == Event.END_ARRAY) {
+                finished = true;
+                parser.close();
+                return null;
+            }
+            if (event != Event.START_OBJECT) {
+                throw new JsonException("expected a tweet object but found " + event);
+            }
+            return readTweet();
+        }
+
+        /*
+         * Read the fields of one tweet object, positioned just after its
+         * START_OBJECT, and leave the parser just after its END_OBJECT.
+         */
+        private Tweet readTweet() {
+            String id = null;
+            String screenName = null;
+            String text = null;
+            String createdAt = null;
+            for (Event event = parser.next(); event != Event.END_OBJECT; event = parser.next()) {
+                String key = parser.getString();
+                Event value = parser.next();
+                switch (key) {
+                case "id":
+                    id = scalarOrSkip(value);
+                    break;
+                case "text":
+                    text = scalarOrSkip(value);
+                    break;
+                case "created_at":
+                    createdAt = scalarOrSkip(value);
+                    break;
+                case "user.screen_name":
+                    screenName = scalarOrSkip(value);
+                    break;
+                case "user":
+                    if (value == Event.START_OBJECT) {
+                        screenName = readScreenName();
+                    } else {
+                        skip(value);
+                    }
+                    break;
+                default:
+                    skip(value);
+                }
+            }
+            if (id == null || screenName == null || text == null || createdAt == null) {
+                throw new JsonException("tweet is missing one of id, user.screen_name, text, created_at");
+            }
+            return new Tweet(parseId(id), screenName, text, CreatedAtParser.parseInstant(createdAt));
+        }
+
+        /*
+         * @return id as a long
+         * @throws JsonException if id is not a 64-bit integer
+         */
+        private long parseId(String id) {
+            try {
+                return Long.parseLong(id);
+            } catch (NumberFormatException e) {
+                throw new JsonException("tweet id is not a 64-bit integer: " + id, e);
+            }
+        }
+
+        /*
+         * Read the screen_name out of a nested user object, positioned just
+         * after its START_OBJECT.
+         */
+        private String readScreenName() {
+            String screenName = null;
+            for (Event event = parser.next(); event != Event.END_OBJECT; event = parser.next()) {
+                String key = parser.getString();
+                Event value = parser.next();
+                if (key.equals("screen_name")) {
+                    screenName = scalarOrSkip(value);
+                } else {
+                    skip(value);
+                }
+            }
+            return screenName;
+        }
+
+        /*
+         * @return the value just read, as TweetReader would render it, or null
+         *         (after skipping it) if it is an object or array.
+         */
+        private String scalarOrSkip(Event value) {
+            switch (value) {
+            case VALUE_STRING:
+            case VALUE_NUMBER:
+                return parser.getString();
+            case VALUE_TRUE:
+                return "TRUE";
+            case VALUE_FALSE:
+                return "FALSE";
+            case VALUE_NULL:
+                return "NULL";
+            default:
+                skip(value);
+                return null;
+            }
+        }
+
+        /*
+         * Skip over the value that begins with the given event.
+         */
+        private void skip(Event value) {
+            if (value != Event.START_OBJECT && value != Event.START_ARRAY) {
+                return;
+            }
+            int depth = 1;
+            while (depth > 0) {
+                switch (parser.next()) {
+                case START_OBJECT:
+                case START_ARRAY:
+                    depth++;
+                    break;
+                case END_OBJECT:
+                case END_ARRAY:
+                    depth--;
+                    break;
+                default:
+                    break;
+                }
+            }
+        }
+    }
+}
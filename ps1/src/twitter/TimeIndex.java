@@ -0,0 +1,223 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable index of a list of tweets by timestamp. Building the index sorts
+ * the tweets by time once; after that, time-range queries take O(log n) to
+ * find the range plus time proportional to the number of matches.
+ */
+public class TimeIndex {
+
+    private final List<Tweet> tweets;
+    private final int[] order;
+    private final long[] seconds;
+    private final int[] nanos;
+
+    /*
+     * Abstraction function: indexes tweets; order lists every position of
+     *   tweets, sorted by timestamp and then by position.
+     * Rep invariant: order is a permutation of 0..tweets.size()-1; seconds[i]
+     *   and nanos[i] are the epoch second and nanosecond of the timestamp of
+     *   tweets.get(order[i]), and are nondecreasing as a pair.
+     * Safety from rep exposure: tweets is a private copy; arrays are never
+     *   returned, only copies of ranges of them.
+     */
+
+    /**
+     * Make an index over a list of tweets.
+     *
+     * @param tweets list of tweets, not modified by this method; later changes
+     *               to the list do not affect the index
+     */
+    public TimeIndex(List<Tweet> tweets) {
+        this.tweets = new ArrayList<>(tweets);
+        int n = this.tweets.size();
+        long[] unsortedSeconds = new long[n];
+        int[] unsortedNanos = new int[n];
+        int[] positions = new int[n];
+        for (int i = 0; i < n; i++) {
+            Instant ts = this.tweets.get(i).getTimestamp();
+            unsortedSeconds[i] = ts.getEpochSecond();
+            unsortedNanos[i] = ts.getNano();
+            positions[i] = i;
+        }
+        mergeSort(positions, new int[n], 0, n, unsortedSeconds, unsortedNanos);
+        this.order = positions;
+        this.seconds = new long[n];
+        this.nanos = new int[n];
+        for (int i = 0; i < n; i++) {
+            seconds[i] = unsortedSeconds[order[i]];
+            nanos[i] = unsortedNanos[order[i]];
+        }
+    }
+
+    /**
+     * @return number of tweets in the index
+     */
+    public int size() {
+        return order.length;
+    }
+
+    /**
+     * Get the time period spanned by the indexed tweets, in O(1) time.
+     *
+     * @return a minimum-length time interval that contains the timestamp of
+     *         every indexed tweet
+     * @throws IllegalArgumentException if the index is empty
+     */
+    public Timespan getTimespan() {
+        if (order.length == 0) throw new IllegalArgumentException("no tweets not a spec");
+        int last = order.length - 1;
+        return new Timespan(Instant.ofEpochSecond(seconds[0], nanos[0]),
+                            Instant.ofEpochSecond(seconds[last], nanos[last]));
+    }
+
+    /**
+     * Count the tweets sent during a timespan, in O(log n) time.
+     *
+     * @param timespan timespan (inclusive)
+     * @return number of indexed tweets sent during the timespan
+     */
+    public int count(Timespan timespan) {
+        return upperBound(timespan.getEnd()) - lowerBound(timespan.getStart());
+    }
+
+    /**
+     * Find tweets sent during a timespan, in time order.
+     *
+     * @param timespan timespan (inclusive)
+     * @return all and only the indexed tweets sent during the timespan, in
+     *         order of timestamp (ties in input order); O(log n + k) time for
+     *         k results
+     */
+    public List<Tweet> inTimespanByTime(Timespan timespan) {
+        int from = lowerBound(timespan.getStart());
+        int to = upperBound(timespan.getEnd());
+        List<Tweet> result = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            result.add(tweets.get(order[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Find tweets sent during a timespan, in input order, as
+     * Filter.inTimespan does.
+     *
+     * @param timespan timespan (inclusive)
+     * @return all and only the indexed tweets sent during the timespan, in the
+     *         same order as the indexed list; O(log n + k log k) time for k
+     *         results
+     */
+    public List<Tweet> inTimespan(Timespan timespan) {
+        int[] positions = positions(timespan);
+        List<Tweet> result = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            result.add(tweets.get(position));
+        }
+        return result;
+    }
+
+    /**
+     * @param timespan timespan (inclusive)
+     * @return positions in the indexed list of the tweets sent during the
+     *         timespan, in ascending order
+     */
+    int[] positions(Timespan timespan) {
+        int from = lowerBound(timespan.getStart());
+        int to = upperBound(timespan.getEnd());
+        if (to <= from) {
+            return new int[0];
+        }
+        int[] positions = Arrays.copyOfRange(order, from, to);
+        Arrays.sort(positions);
+        return positions;
+    }
+
+    /**
+     * @return the indexed tweets, in their original order
+     */
+    List<Tweet> tweets() {
+        return tweets;
+    }
+
+    /*
+     * @return the first index i into the sorted arrays whose timestamp is not
+     *         before instant
+     */
+    private int lowerBound(Instant instant) {
+        long s = instant.getEpochSecond();
+        int ns = instant.getNano();
+        int lo = 0;
+        int hi = order.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compare(seconds[mid], nanos[mid], s, ns) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /*
+     * @return the first index i into the sorted arrays whose timestamp is after
+     *         instant
+     */
+    private int upperBound(Instant instant) {
+        long s = instant.getEpochSecond();
+        int ns = instant.getNano();
+        int lo = 0;
+        int hi = order.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compare(seconds[mid], nanos[mid], s, ns) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static int compare(long s1, int ns1, long s2, int ns2) {
+        int c = Long.compare(s1, s2);
+        return c != 0 ? c : Integer.compare(ns1, ns2);
+    }
+
+    /*
+     * Stable sort of positions[from..to) by (seconds, nanos) of each position.
+     */
+    private static void mergeSort(int[] positions, int[] scratch, int from, int to, long[] seconds, int[] nanos) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(positions, scratch, from, mid, seconds, nanos);
+        mergeSort(positions, scratch, mid, to, seconds, nanos);
+        int a = positions[mid - 1];
+        int b = positions[mid];
+        if (compare(seconds[a], nanos[a], seconds[b], nanos[b]) <= 0) {
+            return; // already in order, as for input that is mostly sorted by time
+        }
+        System.arraycopy(positions, from, scratch, from, to - from);
+        int i = from;
+        int j = mid;
+        for (int k = from; k < to; k++) {
+            if (j >= to || (i < mid && compare(seconds[scratch[i]], nanos[scratch[i]],
+                                              seconds[scratch[j]], nanos[scratch[j]]) <= 0)) {
+                positions[k] = scratch[i++];
+            } else {
+                positions[k] = scratch[j++];
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.time.Instant;
+
+/**
+ * A running Extract.getTimespan: a mutable accumulator that is given tweets
+ * one at a time or in batches, and can report the timespan of all the tweets
+ * it has been given so far. Each tweet costs O(1), so a batch costs time
+ * proportional to its size, however many tweets came before it.
+ *
+ * Accumulators for different parts of a stream can be merged. Not
+ * thread-safe: give each thread its own accumulator and merge them.
+ */
+public class TimespanAccumulator {
+
+    private Instant min = null;
+    private Instant max = null;
+    private long count = 0;
+
+    /*
+     * Abstraction function: the timespan of count tweets whose earliest
+     *   timestamp is min and latest is max.
+     * Rep invariant: min and max are both null iff count == 0; otherwise
+     *   !min.isAfter(max).
+     * Safety from rep exposure: Instants are immutable.
+     */
+
+    /**
+     * Make an accumulator that has been given no tweets.
+     */
+    public TimespanAccumulator() {
+    }
+
+    /**
+     * Add a tweet.
+     *
+     * @param tweet tweet to add
+     */
+    public void add(Tweet tweet) {
+        Instant ts = tweet.getTimestamp();
+        if (min == null || ts.isBefore(min)) min = ts;
+        if (max == null || ts.isAfter(max)) max = ts;
+        count++;
+    }
+
+    /**
+     * Add a batch of tweets.
+     *
+     * @param tweets tweets to add, not modified
+     */
+    public void addAll(Iterable<Tweet> tweets) {
+        for (Tweet t : tweets) {
+            add(t);
+        }
+    }
+
+    /**
+     * Add every tweet another accumulator has been given, in O(1) time.
+     *
+     * @param other accumulator to merge into this one, not modified
+     */
+    public void merge(TimespanAccumulator other) {
+        if (other.count == 0) {
+            return;
+        }
+        if (min == null || other.min.isBefore(min)) min = other.min;
+        if (max == null || other.max.isAfter(max)) max = other.max;
+        count += other.count;
+    }
+
+    /**
+     * @return number of tweets added so far, including by merging
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * @return a minimum-length time interval that contains the timestamp of
+     *         every tweet added so far
+     * @throws IllegalArgumentException if no tweets have been added
+     */
+    public Timespan get() {
+        if (count == 0) throw new IllegalArgumentException("no tweets not a spec");
+        return new Timespan(min, max);
+    }
+}
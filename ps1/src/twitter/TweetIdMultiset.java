@@ -0,0 +1,152 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+/**
+ * A mutable multiset of tweets, kept as their long ids, each with a 64-bit
+ * digest of its content so that a different tweet reusing an id is caught.
+ * Neither the tweets nor their text are retained, and nothing is boxed.
+ */
+class TweetIdMultiset {
+
+    private long[] ids;
+    private long[] digests;
+    private int[] counts;
+    private int size;
+
+    /*
+     * Abstraction function: holds counts[s] copies of the tweet with id ids[s]
+     *   and content digest digests[s], for each slot s with counts[s] > 0.
+     * Rep invariant: the arrays have equal lengths, a power of two, more than
+     *   twice size; size is the number of slots with a positive count; each
+     *   id is in at most one slot, reachable by linear probing from its hash
+     *   without crossing an empty slot.
+     */
+
+    TweetIdMultiset() {
+        ids = new long[4];
+        digests = new long[4];
+        counts = new int[4];
+    }
+
+    /**
+     * @return number of distinct ids held
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @param id a tweet id
+     * @return number of copies of the tweet with that id, or 0 if none
+     */
+    int count(long id) {
+        int slot = find(id);
+        return counts[slot];
+    }
+
+    /**
+     * Add one copy of a tweet.
+     *
+     * @param id the tweet's id
+     * @param digest digest of the tweet's content
+     * @throws IllegalArgumentException if a tweet with this id and a different
+     *                                  digest is held; the multiset is then
+     *                                  unchanged
+     */
+    void add(long id, long digest) {
+        int slot = find(id);
+        if (counts[slot] == 0) {
+            ids[slot] = id;
+            digests[slot] = digest;
+            counts[slot] = 1;
+            if (++size * 2 >= ids.length) {
+                rehash(ids.length * 2);
+            }
+        } else if (digests[slot] != digest) {
+            throw new IllegalArgumentException("a different tweet with id " + id + " was added");
+        } else {
+            counts[slot]++;
+        }
+    }
+
+    /**
+     * Remove one copy of a tweet, if held.
+     *
+     * @param id the tweet's id
+     * @param digest digest of the tweet's content
+     * @return true iff a tweet with this id and digest was held, and one copy
+     *         of it has been removed
+     */
+    boolean remove(long id, long digest) {
+        int slot = find(id);
+        if (counts[slot] == 0 || digests[slot] != digest) {
+            return false;
+        }
+        if (--counts[slot] == 0) {
+            delete(slot);
+        }
+        return true;
+    }
+
+    /*
+     * @return the slot holding id, or the empty slot where it would go
+     */
+    private int find(long id) {
+        int mask = ids.length - 1;
+        int slot = hash(id) & mask;
+        while (counts[slot] != 0 && ids[slot] != id) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /*
+     * Empty a slot, shifting later entries of its probe run back so that they
+     * stay reachable.
+     */
+    private void delete(int slot) {
+        int mask = ids.length - 1;
+        size--;
+        int hole = slot;
+        for (int next = (slot + 1) & mask; counts[next] != 0; next = (next + 1) & mask) {
+            int home = hash(ids[next]) & mask;
+            // move next into the hole unless its home lies cyclically in (hole, next]
+            boolean reachable = hole <= next ? (home > hole && home <= next) : (home > hole || home <= next);
+            if (!reachable) {
+                ids[hole] = ids[next];
+                digests[hole] = digests[next];
+                counts[hole] = counts[next];
+                counts[next] = 0;
+                hole = next;
+            }
+        }
+    }
+
+    private void rehash(int capacity) {
+        long[] oldIds = ids;
+        long[] oldDigests = digests;
+        int[] oldCounts = counts;
+        ids = new long[capacity];
+        digests = new long[capacity];
+        counts = new int[capacity];
+        int mask = capacity - 1;
+        for (int s = 0; s < oldIds.length; s++) {
+            if (oldCounts[s] != 0) {
+                int slot = hash(oldIds[s]) & mask;
+                while (counts[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                ids[slot] = oldIds[s];
+                digests[slot] = oldDigests[s];
+                counts[slot] = oldCounts[s];
+            }
+        }
+    }
+
+    private static int hash(long id) {
+        long h = id * 0x9e3779b97f4a7c15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,89 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable set of indexes over one list of tweets, for TweetQuery to plan
+ * over. Any of the author, time and word indexes may be left out, in which
+ * case queries that would use it scan instead.
+ */
+public class TweetIndexes {
+
+    private final List<Tweet> tweets;
+    private final AuthorIndex authors;
+    private final TimeIndex times;
+    private final WordIndex words;
+
+    /*
+     * Abstraction function: tweets, with the indexes that are non-null.
+     * Rep invariant: each non-null index was built over a list equal to
+     *   tweets, so index positions are positions in tweets.
+     * Safety from rep exposure: tweets is a private copy; the indexes are
+     *   immutable and never returned.
+     */
+
+    /**
+     * Index a list of tweets by author, time and word.
+     *
+     * @param tweets list of tweets, not modified by this method; later changes
+     *               to the list do not affect the indexes
+     */
+    public TweetIndexes(List<Tweet> tweets) {
+        this(tweets, true, true, true);
+    }
+
+    /**
+     * Index a list of tweets by some of author, time and word.
+     *
+     * @param tweets list of tweets, not modified by this method; later changes
+     *               to the list do not affect the indexes
+     * @param byAuthor whether to build an AuthorIndex
+     * @param byTime whether to build a TimeIndex
+     * @param byWord whether to build a WordIndex
+     */
+    public TweetIndexes(List<Tweet> tweets, boolean byAuthor, boolean byTime, boolean byWord) {
+        this.tweets = new ArrayList<>(tweets);
+        this.authors = byAuthor ? new AuthorIndex(this.tweets) : null;
+        this.times = byTime ? new TimeIndex(this.tweets) : null;
+        this.words = byWord ? new WordIndex(this.tweets) : null;
+    }
+
+    /**
+     * @return number of indexed tweets
+     */
+    public int size() {
+        return tweets.size();
+    }
+
+    /**
+     * @return the indexed tweets, in their original order
+     */
+    List<Tweet> tweets() {
+        return tweets;
+    }
+
+    /**
+     * @return the author index, or null if there is none
+     */
+    AuthorIndex authors() {
+        return authors;
+    }
+
+    /**
+     * @return the time index, or null if there is none
+     */
+    TimeIndex times() {
+        return times;
+    }
+
+    /**
+     * @return the word index, or null if there is none
+     */
+    WordIndex words() {
+        return words;
+    }
+}
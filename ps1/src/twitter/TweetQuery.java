@@ -0,0 +1,289 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * An immutable query over tweets, built from the conditions of Filter's
+ * methods and combined with and, or and not. A query is evaluated in one pass
+ * over the tweets, testing each tweet against the whole condition, so chained
+ * conditions never build intermediate lists.
+ *
+ * Over a TweetIndexes, a query is first planned: the most selective condition
+ * that an index can answer (author postings, a time range, or word postings)
+ * is looked up, and only the tweets it finds are tested against the rest of
+ * the query. Either way the results are those of the equivalent chain of
+ * Filter calls, in input order.
+ */
+public abstract class TweetQuery {
+
+    private TweetQuery() {
+    }
+
+    /**
+     * @param username Twitter username (assumed valid). Comparison is case-insensitive.
+     * @return a query matching the tweets Filter.writtenBy(tweets, username) finds
+     */
+    public static TweetQuery writtenBy(String username) {
+        return new Author(username);
+    }
+
+    /**
+     * @param timespan timespan (inclusive)
+     * @return a query matching the tweets Filter.inTimespan(tweets, timespan) finds
+     */
+    public static TweetQuery inTimespan(Timespan timespan) {
+        return new Time(timespan);
+    }
+
+    /**
+     * @param words a list of words, as for Filter.containing
+     * @return a query matching the tweets Filter.containing(tweets, words) finds
+     */
+    public static TweetQuery containing(List<String> words) {
+        return new Words(words);
+    }
+
+    /**
+     * @param other another query
+     * @return a query matching the tweets that match both this and other
+     */
+    public TweetQuery and(TweetQuery other) {
+        return new And(this, other);
+    }
+
+    /**
+     * @param other another query
+     * @return a query matching the tweets that match this, other, or both
+     */
+    public TweetQuery or(TweetQuery other) {
+        return new Or(this, other);
+    }
+
+    /**
+     * @return a query matching the tweets that do not match this
+     */
+    public TweetQuery not() {
+        return new Not(this);
+    }
+
+    /**
+     * @param tweet a tweet
+     * @return true iff tweet matches this query
+     */
+    public abstract boolean matches(Tweet tweet);
+
+    /**
+     * Find the tweets that match this query, in one pass.
+     *
+     * @param tweets a list of tweets, not modified by this method
+     * @return all and only the tweets that match, in the same order as input
+     */
+    public List<Tweet> filter(List<Tweet> tweets) {
+        List<Tweet> result = new ArrayList<>();
+        for (Tweet t : tweets) {
+            if (matches(t)) {
+                result.add(t);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Find the indexed tweets that match this query, looking up the most
+     * selective condition that has an index and testing only the tweets it
+     * finds.
+     *
+     * @param indexes indexes over a list of tweets
+     * @return all and only the indexed tweets that match, in the same order as
+     *         the indexed list
+     */
+    public List<Tweet> filter(TweetIndexes indexes) {
+        List<Tweet> tweets = indexes.tweets();
+        Plan plan = plan(indexes);
+        if (plan == null || plan.estimate >= tweets.size()) {
+            return filter(tweets);
+        }
+        List<Tweet> result = new ArrayList<>();
+        for (int position : plan.candidates.get()) {
+            Tweet t = tweets.get(position);
+            if (matches(t)) {
+                result.add(t);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param indexes indexes over a list of tweets
+     * @return a way to find the candidates for this query with the indexes,
+     *         or null if no index can answer it and the list must be scanned
+     */
+    abstract Plan plan(TweetIndexes indexes);
+
+    /*
+     * An index access path for a query: candidates fetches positions in the
+     * indexed list, in ascending order without repeats, including every
+     * tweet that matches the query; estimate is an upper bound on how many it
+     * fetches, found without fetching them.
+     */
+    private static class Plan {
+        private final long estimate;
+        private final Supplier<int[]> candidates;
+
+        Plan(long estimate, Supplier<int[]> candidates) {
+            this.estimate = estimate;
+            this.candidates = candidates;
+        }
+    }
+
+    private static class Author extends TweetQuery {
+        private final String username;
+        private final UsernameDictionary name = new UsernameDictionary();
+
+        // the dictionary holds only username, as id 0, and is never modified after construction
+        Author(String username) {
+            this.username = username;
+            name.intern(username);
+        }
+
+        @Override public boolean matches(Tweet tweet) {
+            return name.lookup(tweet.getAuthor()) == 0;
+        }
+
+        @Override Plan plan(TweetIndexes indexes) {
+            AuthorIndex authors = indexes.authors();
+            return authors == null ? null : new Plan(authors.count(username), () -> authors.postings(username));
+        }
+    }
+
+    private static class Time extends TweetQuery {
+        private final Timespan timespan;
+
+        Time(Timespan timespan) {
+            this.timespan = timespan;
+        }
+
+        @Override public boolean matches(Tweet tweet) {
+            Instant ts = tweet.getTimestamp();
+            return !ts.isBefore(timespan.getStart()) && !ts.isAfter(timespan.getEnd());
+        }
+
+        @Override Plan plan(TweetIndexes indexes) {
+            TimeIndex times = indexes.times();
+            return times == null ? null : new Plan(times.count(timespan), () -> times.positions(timespan));
+        }
+    }
+
+    private static class Words extends TweetQuery {
+        private final List<String> words;
+        private final KeywordMatcher matcher;
+
+        Words(List<String> words) {
+            this.words = new ArrayList<>(words);
+            this.matcher = new KeywordMatcher(words);
+        }
+
+        @Override public boolean matches(Tweet tweet) {
+            return tweet.getText() != null && matcher.matches(tweet.getText());
+        }
+
+        @Override Plan plan(TweetIndexes indexes) {
+            WordIndex index = indexes.words();
+            return index == null ? null : new Plan(index.estimate(words), () -> index.positions(words));
+        }
+    }
+
+    private static class And extends TweetQuery {
+        private final TweetQuery left;
+        private final TweetQuery right;
+
+        And(TweetQuery left, TweetQuery right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override public boolean matches(Tweet tweet) {
+            return left.matches(tweet) && right.matches(tweet);
+        }
+
+        // either side's candidates cover the conjunction; use the smaller
+        @Override Plan plan(TweetIndexes indexes) {
+            Plan l = left.plan(indexes);
+            Plan r = right.plan(indexes);
+            if (l == null || r == null) {
+                return l == null ? r : l;
+            }
+            return l.estimate <= r.estimate ? l : r;
+        }
+    }
+
+    private static class Or extends TweetQuery {
+        private final TweetQuery left;
+        private final TweetQuery right;
+
+        Or(TweetQuery left, TweetQuery right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override public boolean matches(Tweet tweet) {
+            return left.matches(tweet) || right.matches(tweet);
+        }
+
+        // the union of both sides' candidates covers the disjunction
+        @Override Plan plan(TweetIndexes indexes) {
+            Plan l = left.plan(indexes);
+            Plan r = right.plan(indexes);
+            if (l == null || r == null) {
+                return null;
+            }
+            return new Plan(l.estimate + r.estimate, () -> union(l.candidates.get(), r.candidates.get()));
+        }
+    }
+
+    private static class Not extends TweetQuery {
+        private final TweetQuery query;
+
+        Not(TweetQuery query) {
+            this.query = query;
+        }
+
+        @Override public boolean matches(Tweet tweet) {
+            return !query.matches(tweet);
+        }
+
+        // the complement of an index lookup is not an index lookup
+        @Override Plan plan(TweetIndexes indexes) {
+            return null;
+        }
+    }
+
+    /*
+     * @return the sorted union, without repeats, of two sorted arrays without
+     *         repeats
+     */
+    private static int[] union(int[] a, int[] b) {
+        int[] merged = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < a.length || j < b.length) {
+            if (j >= b.length || (i < a.length && a[i] < b[j])) {
+                merged[k++] = a[i++];
+            } else if (i >= a.length || b[j] < a[i]) {
+                merged[k++] = b[j++];
+            } else {
+                merged[k++] = a[i++];
+                j++;
+            }
+        }
+        return Arrays.copyOf(merged, k);
+    }
+}
@@ -0,0 +1,449 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import javax.json.JsonException;
+
+/**
+ * Decodes a single tweet object directly out of UTF-8 JSON bytes, in place.
+ * Only id, user.screen_name (flat or nested), text and created_at are decoded;
+ * every other value is skipped without being materialized.
+ *
+ * Not thread-safe: each decoder reuses one character buffer, so give each
+ * thread its own.
+ */
+class TweetRecordDecoder {
+
+    private static final byte[] ID = ascii("id");
+    private static final byte[] TEXT = ascii("text");
+    private static final byte[] CREATED_AT = ascii("created_at");
+    private static final byte[] USER = ascii("user");
+    private static final byte[] SCREEN_NAME = ascii("screen_name");
+    private static final byte[] USER_SCREEN_NAME = ascii("user.screen_name");
+
+    private ByteBuffer buf;
+    private int pos;
+    private int end;
+    private char[] chars = new char[256];
+    private final DecodedChars decoded = new DecodedChars();
+
+    /*
+     * Rep invariant: start <= pos <= end <= buf.limit() while decoding.
+     */
+
+    /**
+     * Decode the tweet object found in buf between two absolute positions.
+     * Whitespace around the object is allowed; anything else is not.
+     *
+     * @param buf bytes holding UTF-8 JSON, not modified (its position is ignored)
+     * @param start absolute index of the first byte of the record
+     * @param end absolute index just past the last byte of the record
+     * @return the tweet described by the record
+     * @throws JsonException if the record is not a well-formed tweet object
+     */
+    Tweet decode(ByteBuffer buf, int start, int end) {
+        this.buf = buf;
+        this.pos = start;
+        this.end = end;
+        try {
+            return readTweet();
+        } finally {
+            this.buf = null;
+        }
+    }
+
+    /**
+     * @param buf bytes holding UTF-8 JSON
+     * @param start absolute index to search from
+     * @param end absolute index to stop searching at
+     * @return true iff there is only JSON whitespace in buf between start and end
+     */
+    static boolean isBlank(ByteBuffer buf, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!isWhitespace(buf.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Tweet readTweet() {
+        String screenName = null;
+        String text = null;
+        Instant timestamp = null;
+        long id = 0;
+        boolean hasId = false;
+
+        skipWhitespace();
+        expect('{');
+        skipWhitespace();
+        if (peek() == '}') {
+            pos++;
+        } else {
+            while (true) {
+                int keyStart = pos + 1;
+                skipString();
+                int keyEnd = pos - 1;
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                if (keyEquals(keyStart, keyEnd, ID)) {
+                    id = readId();
+                    hasId = true;
+                } else if (keyEquals(keyStart, keyEnd, TEXT)) {
+                    text = readString();
+                } else if (keyEquals(keyStart, keyEnd, CREATED_AT)) {
+                    decoded.length = readChars();
+                    timestamp = CreatedAtParser.parseInstant(decoded);
+                } else if (keyEquals(keyStart, keyEnd, USER_SCREEN_NAME)) {
+                    screenName = readString();
+                } else if (keyEquals(keyStart, keyEnd, USER) && peek() == '{') {
+                    screenName = readNestedScreenName();
+                } else {
+                    skipValue();
+                }
+                if (!nextMember('}')) {
+                    break;
+                }
+            }
+        }
+        skipWhitespace();
+        if (pos != end) {
+            throw error("unexpected data after tweet object");
+        }
+        if (!hasId || screenName == null || text == null || timestamp == null) {
+            throw error("tweet is missing one of id, user.screen_name, text, created_at");
+        }
+        return new Tweet(id, screenName, text, timestamp);
+    }
+
+    /*
+     * Read a user object, returning its screen_name (or null if absent).
+     */
+    private String readNestedScreenName() {
+        String screenName = null;
+        expect('{');
+        skipWhitespace();
+        if (peek() == '}') {
+            pos++;
+            return null;
+        }
+        while (true) {
+            int keyStart = pos + 1;
+            skipString();
+            int keyEnd = pos - 1;
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+            if (keyEquals(keyStart, keyEnd, SCREEN_NAME) && peek() == '"') {
+                screenName = readString();
+            } else {
+                skipValue();
+            }
+            if (!nextMember('}')) {
+                return screenName;
+            }
+        }
+    }
+
+    /*
+     * After a member or element: consume a ',' (returning true, positioned at
+     * the next member) or the closing bracket (returning false).
+     */
+    private boolean nextMember(char close) {
+        skipWhitespace();
+        byte b = next();
+        if (b == ',') {
+            skipWhitespace();
+            return true;
+        }
+        if (b == close) {
+            return false;
+        }
+        throw error("expected ',' or '" + close + "'");
+    }
+
+    /*
+     * Read a tweet id, written either as a JSON integer or as a string of digits.
+     */
+    private long readId() {
+        if (peek() == '"') {
+            return parseId(readString());
+        }
+        int start = pos;
+        boolean negative = false;
+        if (peek() == '-') {
+            negative = true;
+            pos++;
+        }
+        long value = 0;
+        int digits = 0;
+        while (pos < end) {
+            byte b = buf.get(pos);
+            if (b < '0' || b > '9') {
+                break;
+            }
+            value = value * 10 + (b - '0');
+            digits++;
+            pos++;
+        }
+        if (digits == 0 || digits > 18 || (pos < end && isNumberTail(buf.get(pos)))) {
+            // overlong or non-integral: defer to the general parser for its error or value
+            pos = start;
+            skipValue();
+            return parseId(new String(bytes(start, pos), StandardCharsets.US_ASCII));
+        }
+        return negative ? -value : value;
+    }
+
+    private long parseId(String id) {
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            throw error("tweet id is not a 64-bit integer: " + id);
+        }
+    }
+
+    /*
+     * Read a JSON string value, decoding UTF-8 and escapes into a new String.
+     */
+    private String readString() {
+        return new String(chars, 0, readChars());
+    }
+
+    /*
+     * Read a JSON string value, decoding UTF-8 and escapes into the start of
+     * chars.
+     *
+     * @return the number of chars decoded
+     */
+    private int readChars() {
+        expect('"');
+        int length = 0;
+        while (true) {
+            if (pos >= end) {
+                throw error("unterminated string");
+            }
+            int b = buf.get(pos++);
+            if (b == '"') {
+                return length;
+            }
+            if (length + 2 > chars.length) {
+                char[] bigger = new char[chars.length * 2];
+                System.arraycopy(chars, 0, bigger, 0, length);
+                chars = bigger;
+            }
+            if (b == '\\') {
+                char c = readEscape();
+                chars[length++] = c;
+            } else if (b >= 0) {
+                chars[length++] = (char) b;
+            } else {
+                int codePoint = readUtf8((b & 0xff));
+                length += Character.toChars(codePoint, chars, length);
+            }
+        }
+    }
+
+    private char readEscape() {
+        byte b = next();
+        switch (b) {
+        case '"':  return '"';
+        case '\\': return '\\';
+        case '/':  return '/';
+        case 'b':  return '\b';
+        case 'f':  return '\f';
+        case 'n':  return '\n';
+        case 'r':  return '\r';
+        case 't':  return '\t';
+        case 'u':
+            int c = 0;
+            for (int i = 0; i < 4; i++) {
+                int digit = Character.digit(next(), 16);
+                if (digit < 0) {
+                    throw error("bad \\u escape");
+                }
+                c = (c << 4) | digit;
+            }
+            return (char) c;
+        default:
+            throw error("bad escape");
+        }
+    }
+
+    /*
+     * Decode the rest of a multi-byte UTF-8 sequence whose lead byte is given.
+     */
+    private int readUtf8(int lead) {
+        int extra;
+        int codePoint;
+        if ((lead & 0xe0) == 0xc0) {
+            extra = 1;
+            codePoint = lead & 0x1f;
+        } else if ((lead & 0xf0) == 0xe0) {
+            extra = 2;
+            codePoint = lead & 0x0f;
+        } else if ((lead & 0xf8) == 0xf0) {
+            extra = 3;
+            codePoint = lead & 0x07;
+        } else {
+            throw error("malformed UTF-8");
+        }
+        for (int i = 0; i < extra; i++) {
+            int b = next() & 0xff;
+            if ((b & 0xc0) != 0x80) {
+                throw error("malformed UTF-8");
+            }
+            codePoint = (codePoint << 6) | (b & 0x3f);
+        }
+        if (!Character.isValidCodePoint(codePoint)) {
+            throw error("malformed UTF-8");
+        }
+        return codePoint;
+    }
+
+    /*
+     * Skip any JSON value, positioned at its first byte.
+     */
+    private void skipValue() {
+        byte b = peek();
+        if (b == '"') {
+            skipString();
+        } else if (b == '{' || b == '[') {
+            int depth = 0;
+            do {
+                b = next();
+                if (b == '"') {
+                    pos--;
+                    skipString();
+                } else if (b == '{' || b == '[') {
+                    depth++;
+                } else if (b == '}' || b == ']') {
+                    depth--;
+                }
+            } while (depth > 0);
+        } else {
+            int start = pos;
+            while (pos < end && isNumberTail(buf.get(pos))) {
+                pos++;
+            }
+            if (pos == start) {
+                throw error("expected a value");
+            }
+        }
+    }
+
+    /*
+     * Skip a JSON string, positioned at its opening quote; leaves pos just
+     * past the closing quote.
+     */
+    private void skipString() {
+        expect('"');
+        while (true) {
+            byte b = next();
+            if (b == '"') {
+                return;
+            }
+            if (b == '\\') {
+                next();
+            }
+        }
+    }
+
+    private boolean keyEquals(int keyStart, int keyEnd, byte[] name) {
+        if (keyEnd - keyStart != name.length) {
+            return false;
+        }
+        for (int i = 0; i < name.length; i++) {
+            if (buf.get(keyStart + i) != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void skipWhitespace() {
+        while (pos < end && isWhitespace(buf.get(pos))) {
+            pos++;
+        }
+    }
+
+    private byte peek() {
+        if (pos >= end) {
+            throw error("unexpected end of record");
+        }
+        return buf.get(pos);
+    }
+
+    private byte next() {
+        byte b = peek();
+        pos++;
+        return b;
+    }
+
+    private void expect(char c) {
+        if (next() != c) {
+            pos--;
+            throw error("expected '" + c + "'");
+        }
+    }
+
+    private byte[] bytes(int start, int end) {
+        byte[] out = new byte[end - start];
+        for (int i = start; i < end; i++) {
+            out[i - start] = buf.get(i);
+        }
+        return out;
+    }
+
+    private JsonException error(String message) {
+        return new JsonException(message + " at byte " + pos);
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    /*
+     * @return true iff b can continue a number or literal (true, false, null)
+     */
+    private static boolean isNumberTail(byte b) {
+        return (b >= '0' && b <= '9') || (b >= 'a' && b <= 'z') || b == '-' || b == '+' || b == '.' || b == 'E';
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /*
+     * View of the chars most recently decoded by readChars(), so that they can
+     * be parsed without first being copied into a String.
+     */
+    private final class DecodedChars implements CharSequence {
+        private int length;
+
+        @Override public int length() {
+            return length;
+        }
+
+        @Override public char charAt(int index) {
+            if (index >= length) {
+                throw new IndexOutOfBoundsException();
+            }
+            return chars[index];
+        }
+
+        @Override public CharSequence subSequence(int start, int end) {
+            return toString().substring(start, end);
+        }
+
+        @Override public String toString() {
+            return new String(chars, 0, length);
+        }
+    }
+}
@@ -0,0 +1,278 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * An immutable list of tweets backed by a memory-mapped binary snapshot file.
+ * Tweets are decoded from the mapped file when they are accessed, so opening a
+ * snapshot costs a checksum pass over the file rather than a parse of it.
+ *
+ * File layout (big-endian), for n tweets and a distinct author spellings:
+ * <pre>
+ *   header   int magic "TWSN", int version, int n, int a,
+ *            long text byte count, long CRC-32 of everything after the header
+ *   long[n]  tweet ids
+ *   long[n]  timestamp epoch seconds
+ *   int[n]   timestamp nanoseconds
+ *   int[n]   author, as an index into the author dictionary
+ *   int[a+1] author dictionary offsets into the author bytes
+ *   int[n+1] text offsets into the text bytes
+ *   byte[]   author dictionary, UTF-8
+ *   byte[]   texts, UTF-8
+ * </pre>
+ */
+public class TweetSnapshot extends AbstractList<Tweet> implements RandomAccess {
+
+    private static final int MAGIC = 0x5457534e;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+
+    private final MappedByteBuffer buf;
+    private final int size;
+    private final int idsAt;
+    private final int secondsAt;
+    private final int nanosAt;
+    private final int authorIndexAt;
+    private final int authorOffsetsAt;
+    private final int textOffsetsAt;
+    private final int authorBytesAt;
+    private final int textBytesAt;
+    private final String[] authors;
+
+    /*
+     * Abstraction function: the tweet at index i has id ids[i], timestamp
+     *   seconds[i] + nanos[i], author authors[authorIndex[i]], and text given by
+     *   bytes [textOffsets[i], textOffsets[i+1]) of the text section.
+     * Rep invariant: buf holds a complete snapshot whose checksum matched when
+     *   it was opened; the *At fields are the absolute offsets of the sections.
+     * Safety from rep exposure: buf is read-only and never returned.
+     */
+
+    private TweetSnapshot(MappedByteBuffer buf, int size, int authorCount) {
+        this.buf = buf;
+        this.size = size;
+        this.idsAt = HEADER_BYTES;
+        this.secondsAt = idsAt + 8 * size;
+        this.nanosAt = secondsAt + 8 * size;
+        this.authorIndexAt = nanosAt + 4 * size;
+        this.authorOffsetsAt = authorIndexAt + 4 * size;
+        this.textOffsetsAt = authorOffsetsAt + 4 * (authorCount + 1);
+        this.authorBytesAt = textOffsetsAt + 4 * (size + 1);
+        this.textBytesAt = authorBytesAt + buf.getInt(textOffsetsAt - 4);
+        this.authors = new String[authorCount];
+        for (int a = 0; a < authorCount; a++) {
+            int start = buf.getInt(authorOffsetsAt + 4 * a);
+            int end = buf.getInt(authorOffsetsAt + 4 * (a + 1));
+            authors[a] = decode(authorBytesAt + start, authorBytesAt + end);
+        }
+    }
+
+    /**
+     * Write tweets to a snapshot file, replacing any existing file.
+     *
+     * @param tweets tweets to save, not modified
+     * @param file path of the snapshot file
+     * @throws IOException if the file cannot be written, or the tweets are too
+     *                     large for one snapshot (2 GiB)
+     */
+    public static void write(List<Tweet> tweets, Path file) throws IOException {
+        int n = tweets.size();
+        Map<String, Integer> authorIndex = new HashMap<>();
+        List<String> authors = new ArrayList<>();
+        long textBytes = 0;
+        long authorBytes = 0;
+        for (Tweet t : tweets) {
+            if (authorIndex.putIfAbsent(t.getAuthor(), authors.size()) == null) {
+                authors.add(t.getAuthor());
+                authorBytes += utf8Length(t.getAuthor());
+            }
+            textBytes += utf8Length(t.getText());
+        }
+        long total = HEADER_BYTES + 24L * n + 4L * (authors.size() + 1) + 4L * (n + 1) + authorBytes + textBytes;
+        if (total > Integer.MAX_VALUE) {
+            throw new IOException("tweets are too large for one snapshot: " + total + " bytes");
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.position(HEADER_BYTES);
+            CheckedOutputStream checked = new CheckedOutputStream(Channels.newOutputStream(channel), new CRC32());
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(checked, 1 << 16));
+            for (Tweet t : tweets) {
+                out.writeLong(t.getId());
+            }
+            for (Tweet t : tweets) {
+                out.writeLong(t.getTimestamp().getEpochSecond());
+            }
+            for (Tweet t : tweets) {
+                out.writeInt(t.getTimestamp().getNano());
+            }
+            for (Tweet t : tweets) {
+                out.writeInt(authorIndex.get(t.getAuthor()));
+            }
+            int offset = 0;
+            out.writeInt(offset);
+            for (String author : authors) {
+                offset += utf8Length(author);
+                out.writeInt(offset);
+            }
+            offset = 0;
+            out.writeInt(offset);
+            for (Tweet t : tweets) {
+                offset += utf8Length(t.getText());
+                out.writeInt(offset);
+            }
+            for (String author : authors) {
+                out.write(author.getBytes(StandardCharsets.UTF_8));
+            }
+            for (Tweet t : tweets) {
+                out.write(t.getText().getBytes(StandardCharsets.UTF_8));
+            }
+            out.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(authors.size())
+                  .putLong(textBytes).putLong(checked.getChecksum().getValue());
+            header.flip();
+            channel.write(header, 0);
+        }
+    }
+
+    /**
+     * Open a snapshot file written by write(), verifying its header and checksum.
+     *
+     * @param file path of the snapshot file
+     * @return the tweets in the snapshot, in the order they were written
+     * @throws IOException if the file cannot be read, is not a snapshot, has an
+     *                     unsupported version, or fails its checksum
+     */
+    public static TweetSnapshot open(Path file) throws IOException {
+        MappedByteBuffer buf;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(file + " is not a tweet snapshot");
+            }
+            buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buf.getInt(0) != MAGIC) {
+            throw new IOException(file + " is not a tweet snapshot");
+        }
+        if (buf.getInt(4) != VERSION) {
+            throw new IOException(file + " has unsupported snapshot version " + buf.getInt(4));
+        }
+        int n = buf.getInt(8);
+        int authorCount = buf.getInt(12);
+        long textBytes = buf.getLong(16);
+        long expectedChecksum = buf.getLong(24);
+        // the author dictionary's size is its last offset, so check that the
+        // offsets are present before reading it
+        long offsetsEnd = n < 0 || authorCount < 0 ? -1
+                : HEADER_BYTES + 24L * n + 4L * (authorCount + 1) + 4L * (n + 1);
+        if (offsetsEnd < 0 || textBytes < 0 || offsetsEnd + textBytes > buf.capacity()) {
+            throw new IOException(file + " is truncated");
+        }
+        int authorBytes = buf.getInt(HEADER_BYTES + 24 * n + 4 * authorCount);
+        if (authorBytes < 0 || offsetsEnd + authorBytes + textBytes > buf.capacity()) {
+            throw new IOException(file + " is truncated");
+        }
+        ByteBuffer body = buf.duplicate();
+        body.position(HEADER_BYTES);
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        if (crc.getValue() != expectedChecksum) {
+            throw new IOException(file + " failed its checksum");
+        }
+        return new TweetSnapshot(buf, n, authorCount);
+    }
+
+    @Override public int size() {
+        return size;
+    }
+
+    /**
+     * @param index index of a tweet, 0 <= index < size()
+     * @return the tweet at that index, decoded from the snapshot
+     */
+    @Override public Tweet get(int index) {
+        checkIndex(index);
+        return new Tweet(getId(index), authors[buf.getInt(authorIndexAt + 4 * index)],
+                decode(textBytesAt + buf.getInt(textOffsetsAt + 4 * index),
+                       textBytesAt + buf.getInt(textOffsetsAt + 4 * (index + 1))),
+                getTimestamp(index));
+    }
+
+    /**
+     * @param index index of a tweet, 0 <= index < size()
+     * @return the id of that tweet, read without decoding the rest of it
+     */
+    public long getId(int index) {
+        checkIndex(index);
+        return buf.getLong(idsAt + 8 * index);
+    }
+
+    /**
+     * @param index index of a tweet, 0 <= index < size()
+     * @return the timestamp of that tweet, read without decoding the rest of it
+     */
+    public Instant getTimestamp(int index) {
+        checkIndex(index);
+        return Instant.ofEpochSecond(buf.getLong(secondsAt + 8 * index), buf.getInt(nanosAt + 4 * index));
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + " of " + size);
+        }
+    }
+
+    private String decode(int start, int end) {
+        ByteBuffer slice = buf.duplicate();
+        slice.limit(end).position(start);
+        return StandardCharsets.UTF_8.decode(slice).toString();
+    }
+
+    /*
+     * @return number of bytes in the UTF-8 encoding of s (unpaired surrogates
+     *         count as the one-byte replacement that String.getBytes writes)
+     */
+    private static int utf8Length(String s) {
+        int length = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length += 1;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
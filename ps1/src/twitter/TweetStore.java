@@ -0,0 +1,238 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable corpus of tweets stored column by column in primitive arrays,
+ * rather than as a list of Tweet objects. Tweets are identified by their row,
+ * 0 to size() - 1, in the order they were given.
+ *
+ * Timestamps are kept exactly, as an epoch second and a nanosecond, so scans
+ * compare them as Instant does.
+ */
+public class TweetStore {
+
+    private final UsernameDictionary users;
+    private final long[] ids;
+    private final long[] epochSeconds;
+    private final int[] nanos;
+    private final int[] authorIds;
+    private final int[] textOffsets;
+    private final byte[] text;
+    private final int[] spellingIds;
+    private final String[] spellings;
+
+    /*
+     * Abstraction function: row i is the tweet with id ids[i], timestamp
+     *   epochSeconds[i] + nanos[i] nanoseconds, author spelled spellings[spellingIds[i]] (whose id in
+     *   users is authorIds[i]), and text given by UTF-8 bytes
+     *   text[textOffsets[i] .. textOffsets[i+1]).
+     * Rep invariant: all per-row arrays have length size(); 0 <= nanos[i] <
+     *   10^9; textOffsets has length size() + 1, starts at 0 and is
+     *   nondecreasing.
+     * Safety from rep exposure: arrays are never returned; users is shared
+     *   deliberately, and interning more names into it never changes an
+     *   existing id.
+     */
+
+    /**
+     * Make a store holding the given tweets, with authors interned in a new
+     * dictionary.
+     *
+     * @param tweets tweets to store, not modified
+     */
+    public TweetStore(List<Tweet> tweets) {
+        this(tweets, new UsernameDictionary());
+    }
+
+    /**
+     * Make a store holding the given tweets.
+     *
+     * @param tweets tweets to store, not modified
+     * @param users dictionary to intern authors into
+     * @throws IllegalArgumentException if the texts total 2 GiB or more of UTF-8
+     */
+    public TweetStore(List<Tweet> tweets, UsernameDictionary users) {
+        int n = tweets.size();
+        this.users = users;
+        this.ids = new long[n];
+        this.epochSeconds = new long[n];
+        this.nanos = new int[n];
+        this.authorIds = new int[n];
+        this.textOffsets = new int[n + 1];
+        this.spellingIds = new int[n];
+        Map<String, Integer> spellingIndex = new HashMap<>();
+        byte[] packed = new byte[(int) Math.min(Integer.MAX_VALUE - 8, Math.max(16L, n * 32L))];
+        int length = 0;
+        int row = 0;
+        for (Tweet t : tweets) {
+            ids[row] = t.getId();
+            epochSeconds[row] = t.getTimestamp().getEpochSecond();
+            nanos[row] = t.getTimestamp().getNano();
+            authorIds[row] = users.intern(t.getAuthor());
+            Integer spelling = spellingIndex.putIfAbsent(t.getAuthor(), spellingIndex.size());
+            spellingIds[row] = spelling == null ? spellingIndex.size() - 1 : spelling;
+            byte[] bytes = t.getText().getBytes(StandardCharsets.UTF_8);
+            if ((long) length + bytes.length > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("tweet texts are too large for one store");
+            }
+            if (length + bytes.length > packed.length) {
+                packed = Arrays.copyOf(packed, (int) Math.min(Integer.MAX_VALUE - 8,
+                        Math.max(2L * packed.length, (long) length + bytes.length)));
+            }
+            System.arraycopy(bytes, 0, packed, length, bytes.length);
+            length += bytes.length;
+            textOffsets[++row] = length;
+        }
+        this.text = Arrays.copyOf(packed, length);
+        this.spellings = new String[spellingIndex.size()];
+        for (Map.Entry<String, Integer> e : spellingIndex.entrySet()) {
+            spellings[e.getValue()] = e.getKey();
+        }
+    }
+
+    /**
+     * @return number of tweets in this store
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * @return the dictionary the authors of this store are interned in
+     */
+    public UsernameDictionary getUsers() {
+        return users;
+    }
+
+    /**
+     * @param row a row of this store, 0 <= row < size()
+     * @return id of the tweet in that row
+     */
+    public long getId(int row) {
+        return ids[row];
+    }
+
+    /**
+     * @param row a row of this store, 0 <= row < size()
+     * @return timestamp of the tweet in that row
+     */
+    public Instant getTimestamp(int row) {
+        return Instant.ofEpochSecond(epochSeconds[row], nanos[row]);
+    }
+
+    /**
+     * @param row a row of this store, 0 <= row < size()
+     * @return id in getUsers() of the author of the tweet in that row
+     */
+    public int getAuthorId(int row) {
+        return authorIds[row];
+    }
+
+    /**
+     * @param row a row of this store, 0 <= row < size()
+     * @return text of the tweet in that row
+     */
+    public String getText(int row) {
+        return new String(text, textOffsets[row], textOffsets[row + 1] - textOffsets[row], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param row a row of this store, 0 <= row < size()
+     * @return the tweet in that row
+     */
+    public Tweet get(int row) {
+        return new Tweet(ids[row], spellings[spellingIds[row]], getText(row), getTimestamp(row));
+    }
+
+    /**
+     * @param rows rows of this store
+     * @return the tweets in those rows, in the same order
+     */
+    public List<Tweet> get(int[] rows) {
+        Tweet[] tweets = new Tweet[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            tweets[i] = get(rows[i]);
+        }
+        return Arrays.asList(tweets);
+    }
+
+    /**
+     * @param start first row of a range, 0 <= start < size()
+     * @param end row just past the range, start < end <= size()
+     * @return a row in [start, end) with the earliest timestamp
+     */
+    int earliestRow(int start, int end) {
+        int min = start;
+        for (int i = start + 1; i < end; i++) {
+            if (compare(epochSeconds[i], nanos[i], epochSeconds[min], nanos[min]) < 0) {
+                min = i;
+            }
+        }
+        return min;
+    }
+
+    /**
+     * @param start first row of a range, 0 <= start < size()
+     * @param end row just past the range, start < end <= size()
+     * @return a row in [start, end) with the latest timestamp
+     */
+    int latestRow(int start, int end) {
+        int max = start;
+        for (int i = start + 1; i < end; i++) {
+            if (compare(epochSeconds[i], nanos[i], epochSeconds[max], nanos[max]) > 0) {
+                max = i;
+            }
+        }
+        return max;
+    }
+
+    /**
+     * @param min earliest timestamp to accept
+     * @param max latest timestamp to accept
+     * @return the rows, in ascending order, whose timestamps are within
+     *         [min, max]
+     */
+    int[] rowsBetween(Instant min, Instant max) {
+        long minSecond = min.getEpochSecond();
+        int minNano = min.getNano();
+        long maxSecond = max.getEpochSecond();
+        int maxNano = max.getNano();
+        IntArrayList rows = new IntArrayList();
+        for (int i = 0; i < epochSeconds.length; i++) {
+            long s = epochSeconds[i];
+            if ((s > minSecond || (s == minSecond && nanos[i] >= minNano))
+                    && (s < maxSecond || (s == maxSecond && nanos[i] <= maxNano))) {
+                rows.add(i);
+            }
+        }
+        return rows.toArray();
+    }
+
+    /**
+     * @param authorId id in getUsers() of an author
+     * @return the rows, in ascending order, whose author has that id
+     */
+    int[] rowsByAuthor(int authorId) {
+        IntArrayList rows = new IntArrayList();
+        for (int i = 0; i < authorIds.length; i++) {
+            if (authorIds[i] == authorId) {
+                rows.add(i);
+            }
+        }
+        return rows.toArray();
+    }
+
+    private static int compare(long s1, int ns1, long s2, int ns2) {
+        int c = Long.compare(s1, s2);
+        return c != 0 ? c : Integer.compare(ns1, ns2);
+    }
+}
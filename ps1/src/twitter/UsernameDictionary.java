@@ -0,0 +1,194 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A mutable dictionary that assigns each distinct Twitter username a dense int
+ * id: 0 for the first username added, 1 for the next, and so on. Usernames are
+ * case-insensitive, so "ernie" and "ERNie" get the same id; each id's name is
+ * the lowercase form of the username.
+ *
+ * Case-folding is done once per lookup while hashing, without creating
+ * lowercase copies, so code that works on ids can compare usernames as ints.
+ */
+public class UsernameDictionary {
+
+    private String[] names = new String[16];
+    private int[] hashes = new int[16];
+    private int size = 0;
+    private int[] table = new int[32];
+
+    /*
+     * Abstraction function: maps names[i] to id i, for 0 <= i < size.
+     * Rep invariant:
+     *   names[0..size) are distinct, each equal to its own case-folded form
+     *   hashes[i] == hash(names[i])
+     *   table is an open-addressing hash table, its length a power of two and
+     *     more than twice size; each nonzero slot holds id + 1, and each id
+     *     appears in exactly one slot, reachable by linear probing from its hash
+     * Safety from rep exposure: only Strings (immutable) and ints are returned.
+     */
+
+    /**
+     * Make an empty dictionary.
+     */
+    public UsernameDictionary() {
+    }
+
+    /**
+     * @param username a Twitter username
+     * @return the id of username, adding it to this dictionary if needed
+     */
+    public int intern(CharSequence username) {
+        return intern(username, 0, username.length());
+    }
+
+    /**
+     * @param text text containing a Twitter username
+     * @param start index of the username's first character in text
+     * @param end index just past the username's last character in text
+     * @return the id of the username text[start..end), adding it to this
+     *         dictionary if needed
+     */
+    public int intern(CharSequence text, int start, int end) {
+        int hash = hash(text, start, end);
+        int mask = table.length - 1;
+        int slot = hash & mask;
+        for (int entry = table[slot]; entry != 0; entry = table[slot]) {
+            if (hashes[entry - 1] == hash && matches(names[entry - 1], text, start, end)) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        int id = size++;
+        if (id == names.length) {
+            names = Arrays.copyOf(names, id * 2);
+            hashes = Arrays.copyOf(hashes, id * 2);
+        }
+        names[id] = folded(text, start, end);
+        hashes[id] = hash;
+        table[slot] = id + 1;
+        if (2 * size >= table.length) {
+            rehash();
+        }
+        return id;
+    }
+
+    /**
+     * @param username a Twitter username
+     * @return the id of username, or -1 if it is not in this dictionary
+     */
+    public int lookup(CharSequence username) {
+        return lookup(username, 0, username.length());
+    }
+
+    /**
+     * @param text text containing a Twitter username
+     * @param start index of the username's first character in text
+     * @param end index just past the username's last character in text
+     * @return the id of the username text[start..end), or -1 if it is not in
+     *         this dictionary
+     */
+    public int lookup(CharSequence text, int start, int end) {
+        int hash = hash(text, start, end);
+        int mask = table.length - 1;
+        for (int slot = hash & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+            int id = table[slot] - 1;
+            if (hashes[id] == hash && matches(names[id], text, start, end)) {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param id an id in this dictionary, 0 <= id < size()
+     * @return the lowercase username with that id
+     */
+    public String name(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("id " + id + " of " + size);
+        }
+        return names[id];
+    }
+
+    /**
+     * @return the number of distinct usernames in this dictionary; ids are
+     *         0 to size() - 1
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Intern the author of every tweet.
+     *
+     * @param tweets list of tweets, not modified by this method
+     * @return an array whose i-th element is the id of the author of
+     *         tweets.get(i)
+     */
+    public int[] internAuthors(List<Tweet> tweets) {
+        int[] ids = new int[tweets.size()];
+        int i = 0;
+        for (Tweet t : tweets) {
+            ids[i++] = intern(t.getAuthor());
+        }
+        return ids;
+    }
+
+    private void rehash() {
+        int[] bigger = new int[table.length * 2];
+        int mask = bigger.length - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = hashes[id] & mask;
+            while (bigger[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            bigger[slot] = id + 1;
+        }
+        table = bigger;
+    }
+
+    /*
+     * Fold a character to the case used for comparison; consistent with
+     * String.equalsIgnoreCase, and plain ASCII lowercasing for ASCII.
+     */
+    static char fold(char c) {
+        if (c < 0x80) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static int hash(CharSequence text, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + fold(text.charAt(i));
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean matches(String name, CharSequence text, int start, int end) {
+        if (name.length() != end - start) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (name.charAt(i - start) != fold(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String folded(CharSequence text, int start, int end) {
+        char[] chars = new char[end - start];
+        for (int i = start; i < end; i++) {
+            chars[i - start] = fold(text.charAt(i));
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,131 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.util.regex.Pattern;
+
+/**
+ * Whole-word matching rules, kept identical to those Filter.containing gets
+ * from java.util.regex: a word boundary (\b) and ASCII-only case folding (as
+ * for Pattern.CASE_INSENSITIVE without UNICODE_CASE).
+ *
+ * A word character is '_', a letter or digit, or a non-spacing mark that
+ * follows, possibly after other such marks, a character that
+ * Character.isLetterOrDigit accepts. Which letters and digits count depends
+ * on the JDK: before JDK 19, \b accepted all that Character.isLetterOrDigit
+ * does; since then, only ASCII ones. The rule is found once, from the running
+ * JDK. Positions are char indices, as in java.util.regex.
+ */
+class WordBoundaries {
+
+    // true iff \b treats non-ASCII letters and digits as word characters
+    private static final boolean UNICODE_WORDS = Pattern.compile("\\b").matcher("\u00e9").find();
+
+    private WordBoundaries() {
+    }
+
+    /**
+     * @param s text
+     * @param i index, 0 <= i <= s.length()
+     * @return true iff \b matches at index i of s
+     */
+    static boolean isBoundary(CharSequence s, int i) {
+        boolean left = i > 0 && isWordBefore(s, i);
+        boolean right = i < s.length() && isWordAt(s, i);
+        return left ^ right;
+    }
+
+    /**
+     * @param s text
+     * @param i index, 0 <= i < s.length()
+     * @return true iff the code point at index i is a word character
+     */
+    static boolean isWordAt(CharSequence s, int i) {
+        int ch = Character.codePointAt(s, i);
+        return isWord(ch) || (Character.getType(ch) == Character.NON_SPACING_MARK && hasBaseCharacter(s, i));
+    }
+
+    /**
+     * @param s text
+     * @param i index, 0 < i <= s.length()
+     * @return true iff the code point ending just before index i is a word
+     *         character
+     */
+    static boolean isWordBefore(CharSequence s, int i) {
+        int ch = Character.codePointBefore(s, i);
+        return isWord(ch) || (Character.getType(ch) == Character.NON_SPACING_MARK && hasBaseCharacter(s, i - 1));
+    }
+
+    /**
+     * @return c lowercased if it is an ASCII capital letter, otherwise c
+     */
+    static char foldCase(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    /**
+     * @return s with ASCII capital letters lowercased
+     */
+    static String foldCase(CharSequence s) {
+        char[] chars = new char[s.length()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = foldCase(s.charAt(i));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * @param word a word to search for
+     * @return true iff matching word as a whole word is the same as finding a
+     *         token of some text that equals word up to case, where the tokens
+     *         of a text are its maximal runs of word characters: that is, word
+     *         is nonempty and is itself a single run of word characters
+     */
+    static boolean isSingleToken(CharSequence word) {
+        if (word.length() == 0 || !isWordAt(word, 0) || !isBoundary(word, word.length())) {
+            return false;
+        }
+        for (int i = 1; i < word.length(); i++) {
+            if (isBoundary(word, i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param s text
+     * @param start index of the start of a token of s (a boundary followed by
+     *              a word character)
+     * @return index of the end of that token, the next boundary after start
+     */
+    static int tokenEnd(CharSequence s, int start) {
+        int end = start + 1;
+        while (!isBoundary(s, end)) {
+            end++;
+        }
+        return end;
+    }
+
+    private static boolean isWord(int ch) {
+        return ch == '_' || ((ch < 128 || UNICODE_WORDS) && Character.isLetterOrDigit(ch));
+    }
+
+    /*
+     * Walks back from i over non-spacing marks, one char at a time, looking
+     * for a letter or digit, as java.util.regex does.
+     */
+    private static boolean hasBaseCharacter(CharSequence s, int i) {
+        for (int x = i; x >= 0; x--) {
+            int ch = Character.codePointAt(s, x);
+            if (Character.isLetterOrDigit(ch)) {
+                return true;
+            }
+            if (Character.getType(ch) != Character.NON_SPACING_MARK) {
+                return false;
+            }
+        }
+        return false;
+    }
+}
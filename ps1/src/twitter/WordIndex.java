@@ -0,0 +1,163 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable inverted index of a list of tweets by the words in their text.
+ * Texts are split into tokens once, using the same whole-word and
+ * case-insensitivity rules as Filter.containing, so a query costs time
+ * proportional to the postings of its words rather than a regex run over every
+ * tweet.
+ *
+ * Query words that are not a single token (such as "#hype" or "a b") cannot be
+ * looked up; for those, the index falls back to the regex used by
+ * Filter.containing, so results are always the same as Filter.containing's.
+ */
+public class WordIndex {
+
+    private final List<Tweet> tweets;
+    private final Map<String, int[]> postings = new HashMap<>();
+
+    /*
+     * Abstraction function: indexes tweets; postings maps each case-folded
+     *   token to the positions in tweets, in ascending order without repeats,
+     *   of the tweets whose text contains it.
+     * Rep invariant: every key of postings is a single token equal to its own
+     *   case-folded form; every postings array is nonempty.
+     * Safety from rep exposure: tweets is a private copy; postings arrays are
+     *   never returned.
+     */
+
+    /**
+     * Make an index over a list of tweets.
+     *
+     * @param tweets list of tweets, not modified by this method; later changes
+     *               to the list do not affect the index
+     */
+    public WordIndex(List<Tweet> tweets) {
+        this.tweets = new ArrayList<>(tweets);
+        Map<String, IntArrayList> lists = new HashMap<>();
+        for (int position = 0; position < this.tweets.size(); position++) {
+            String text = this.tweets.get(position).getText();
+            if (text == null) {
+                continue;
+            }
+            int i = 0;
+            while (i < text.length()) {
+                if (WordBoundaries.isBoundary(text, i) && WordBoundaries.isWordAt(text, i)) {
+                    int end = WordBoundaries.tokenEnd(text, i);
+                    IntArrayList list = lists.computeIfAbsent(
+                            WordBoundaries.foldCase(text.subSequence(i, end)), k -> new IntArrayList(2));
+                    if (list.size() == 0 || list.get(list.size() - 1) != position) {
+                        list.add(position);
+                    }
+                    i = end;
+                } else {
+                    i++;
+                }
+            }
+        }
+        for (Map.Entry<String, IntArrayList> e : lists.entrySet()) {
+            postings.put(e.getKey(), e.getValue().toArray());
+        }
+    }
+
+    /**
+     * Find indexed tweets that contain certain words, as Filter.containing does.
+     *
+     * @param words a list of words to search for in the tweets.
+     *              Word comparison is not case-sensitive. Words are matched as whole words only.
+     * @return all and only the indexed tweets that include at least one of the
+     *         words, in the same order as the indexed list.
+     */
+    public List<Tweet> containing(List<String> words) {
+        int[] positions = positions(words);
+        List<Tweet> result = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            result.add(tweets.get(position));
+        }
+        return result;
+    }
+
+    /**
+     * @param words a list of words, as for containing()
+     * @return positions in the indexed list of the tweets that include at
+     *         least one of the words, in ascending order
+     */
+    int[] positions(List<String> words) {
+        List<int[]> lists = new ArrayList<>();
+        List<Pattern> unindexed = new ArrayList<>();
+        for (String word : words) {
+            if (word == null || word.isEmpty()) {
+                continue;
+            }
+            if (WordBoundaries.isSingleToken(word)) {
+                int[] list = postings.get(WordBoundaries.foldCase(word));
+                if (list != null) {
+                    lists.add(list);
+                }
+            } else {
+                unindexed.add(Pattern.compile("\\b" + Pattern.quote(word) + "\\b", Pattern.CASE_INSENSITIVE));
+            }
+        }
+        int[] hits = PostingLists.union(lists);
+        if (unindexed.isEmpty()) {
+            return hits;
+        }
+        // scan the tweets the postings did not find, keeping positions in order
+        IntArrayList merged = new IntArrayList(hits.length + 1);
+        int next = 0;
+        for (int position = 0; position < tweets.size(); position++) {
+            if (next < hits.length && hits[next] == position) {
+                merged.add(position);
+                next++;
+                continue;
+            }
+            String text = tweets.get(position).getText();
+            if (text == null) {
+                continue;
+            }
+            for (Pattern p : unindexed) {
+                if (p.matcher(text).find()) {
+                    merged.add(position);
+                    break;
+                }
+            }
+        }
+        return merged.toArray();
+    }
+
+    /**
+     * @param words a list of words, as for containing()
+     * @return an upper bound on the number of indexed tweets that include at
+     *         least one of the words, found without scanning any tweets
+     */
+    int estimate(List<String> words) {
+        long total = 0;
+        for (String word : words) {
+            if (word == null || word.isEmpty()) {
+                continue;
+            }
+            if (!WordBoundaries.isSingleToken(word)) {
+                return tweets.size();
+            }
+            int[] list = postings.get(WordBoundaries.foldCase(word));
+            total += list == null ? 0 : list.length;
+        }
+        return (int) Math.min(total, tweets.size());
+    }
+
+    /**
+     * @return the indexed tweets, in their original order
+     */
+    List<Tweet> tweets() {
+        return tweets;
+    }
+}
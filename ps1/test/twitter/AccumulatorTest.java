@@ -0,0 +1,108 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class AccumulatorTest {
+
+    /*
+     * Testing strategy for TimespanAccumulator and MentionAccumulator:
+     *
+     * tweets added: none, one, several batches, one at a time
+     * merge: with an empty accumulator, into an empty accumulator, with
+     *        itself, with overlapping mentions in different case
+     * results agree with Extract.getTimespan and getMentionedUsers over the
+     * concatenation of everything added
+     */
+
+    private static final Instant d1 = Instant.parse("2016-02-17T10:00:00Z");
+    private static final Instant d2 = Instant.parse("2016-02-17T11:00:00Z");
+    private static final Instant d3 = Instant.parse("2016-02-17T12:00:00Z");
+
+    @Test(expected = AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTimespanEmpty() {
+        TimespanAccumulator acc = new TimespanAccumulator();
+        acc.addAll(Collections.emptyList());
+        acc.merge(new TimespanAccumulator());
+        assertEquals(0, acc.count());
+        acc.get();
+    }
+
+    @Test
+    public void testTimespanMerge() {
+        TimespanAccumulator left = new TimespanAccumulator();
+        left.add(new Tweet(1, "a", "x", d2));
+        TimespanAccumulator right = new TimespanAccumulator();
+        right.addAll(Arrays.asList(new Tweet(2, "b", "y", d3), new Tweet(3, "c", "z", d1)));
+
+        TimespanAccumulator empty = new TimespanAccumulator();
+        empty.merge(left);
+        assertEquals(d2, empty.get().getStart());
+        assertEquals(d2, empty.get().getEnd());
+
+        left.merge(right);
+        left.merge(new TimespanAccumulator());
+        assertEquals(3, left.count());
+        assertEquals(d1, left.get().getStart());
+        assertEquals(d3, left.get().getEnd());
+    }
+
+    @Test
+    public void testMentionMerge() {
+        MentionAccumulator left = new MentionAccumulator();
+        left.add(new Tweet(1, "a", "@Alyssa and @ben", d1));
+        MentionAccumulator right = new MentionAccumulator();
+        right.addAll(Arrays.asList(new Tweet(2, "b", "@ALYSSA x@mit.edu", d1), new Tweet(3, "c", "@carl", d1)));
+
+        left.merge(right);
+        left.merge(left);
+        assertEquals(3, left.size());
+        assertTrue(left.contains("alyssa"));
+        assertTrue(left.contains("CARL"));
+        assertFalse(left.contains("mit"));
+        assertEquals(2, right.size());
+    }
+
+    @Test
+    public void testBatchesMatchExtract() {
+        Random random = new Random(6005);
+        String[] names = { "a", "B", "c_1", "Dd" };
+        List<Tweet> all = new ArrayList<>();
+        TimespanAccumulator spans = new TimespanAccumulator();
+        MentionAccumulator mentions = new MentionAccumulator();
+        for (int batch = 0; batch < 20; batch++) {
+            List<Tweet> tweets = new ArrayList<>();
+            for (int i = random.nextInt(10); i > 0; i--) {
+                tweets.add(new Tweet(all.size() + tweets.size(), "x",
+                                     "@" + names[random.nextInt(names.length)] + " hi",
+                                     d1.plusSeconds(random.nextInt(100000))));
+            }
+            TimespanAccumulator batchSpan = new TimespanAccumulator();
+            batchSpan.addAll(tweets);
+            spans.merge(batchSpan);
+            mentions.addAll(tweets);
+            all.addAll(tweets);
+            if (!all.isEmpty()) {
+                assertEquals(Extract.getTimespan(all).getStart(), spans.get().getStart());
+                assertEquals(Extract.getTimespan(all).getEnd(), spans.get().getEnd());
+            }
+            assertEquals(Extract.getMentionedUsers(all), mentions.get());
+        }
+    }
+}
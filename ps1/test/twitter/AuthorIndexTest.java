@@ -0,0 +1,85 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class AuthorIndexTest {
+
+    /*
+     * Testing strategy:
+     *
+     * partition writtenBy(username) by:
+     *  - author absent, with one tweet, with several tweets in mixed case
+     * partition writtenBy(usernames) by:
+     *  - no usernames, one, several (interleaved tweets), repeats in other cases,
+     *    some absent
+     *  - many usernames over a larger corpus, compared with per-user results
+     */
+
+    private static final Instant d1 = Instant.parse("2016-02-17T10:00:00Z");
+
+    private static final List<Tweet> tweets = Arrays.asList(
+            new Tweet(1, "alyssa", "a", d1),
+            new Tweet(2, "bbitdiddle", "b", d1),
+            new Tweet(3, "ALYSSA", "c", d1),
+            new Tweet(4, "ben", "d", d1),
+            new Tweet(5, "BBitdiddle", "e", d1),
+            new Tweet(6, "alyssa", "f", d1));
+
+    @Test(expected = AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false;
+    }
+
+    @Test
+    public void testWrittenBySingleUser() {
+        AuthorIndex index = new AuthorIndex(tweets);
+        for (String user : Arrays.asList("Alyssa", "ben", "nobody")) {
+            assertEquals(user, Filter.writtenBy(tweets, user), Filter.writtenBy(index, user));
+            assertEquals(user, Filter.writtenBy(tweets, user).size(), index.count(user));
+        }
+    }
+
+    @Test
+    public void testWrittenByBatch() {
+        AuthorIndex index = new AuthorIndex(tweets);
+        assertTrue(index.writtenBy(new ArrayList<>()).isEmpty());
+
+        List<Tweet> result = index.writtenBy(Arrays.asList("bbitdiddle", "alyssa", "ALYSSA", "nobody"));
+        assertEquals("input order, no repeats", Arrays.asList(tweets.get(0), tweets.get(1), tweets.get(2),
+                                                              tweets.get(4), tweets.get(5)), result);
+    }
+
+    @Test
+    public void testWrittenByManyUsers() {
+        Random random = new Random(6005);
+        List<Tweet> corpus = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            corpus.add(new Tweet(i, (random.nextBoolean() ? "U" : "u") + random.nextInt(50), "t", d1));
+        }
+        AuthorIndex index = new AuthorIndex(corpus);
+        for (int trial = 0; trial < 50; trial++) {
+            List<String> users = new ArrayList<>();
+            for (int n = random.nextInt(20); n > 0; n--) {
+                users.add("u" + random.nextInt(60));
+            }
+            List<Tweet> expected = new ArrayList<>();
+            for (Tweet t : corpus) {
+                if (users.contains(t.getAuthor().toLowerCase())) {
+                    expected.add(t);
+                }
+            }
+            assertEquals(users.toString(), expected, index.writtenBy(users));
+        }
+    }
+}
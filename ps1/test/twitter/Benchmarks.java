@@ -0,0 +1,70 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Timing and memory helpers, and a synthetic corpus, shared by the hand-run
+ * benchmarks in this directory.
+ */
+class Benchmarks {
+
+    private static final int ROUNDS = 5;
+
+    private Benchmarks() {
+    }
+
+    /**
+     * @param task work to time; its result is discarded
+     * @return best wall-clock time of ROUNDS runs after one warm-up, in ms
+     */
+    static double time(Supplier<?> task) {
+        task.get();
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            task.get();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1e6;
+    }
+
+    /**
+     * @return bytes of heap in use after collecting garbage; differences
+     *         between calls estimate the size of what was allocated and kept
+     *         in between
+     */
+    static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+
+    /**
+     * @return tweets by random authors, each mentioning up to three users,
+     *         skewed towards low-numbered users as real mentions are
+     */
+    static List<Tweet> corpus(int tweetCount, int userCount, Random random) {
+        Instant start = Instant.parse("2016-02-17T10:00:00Z");
+        List<Tweet> tweets = new ArrayList<>(tweetCount);
+        for (int i = 0; i < tweetCount; i++) {
+            StringBuilder text = new StringBuilder("some text");
+            for (int m = random.nextInt(4); m > 0; m--) {
+                int user = (int) Math.pow(userCount, random.nextDouble());
+                text.append(" @User").append(user);
+            }
+            tweets.add(new Tweet(i, "user" + random.nextInt(userCount), text.toString(), start.plusSeconds(i)));
+        }
+        return tweets;
+    }
+}
@@ -0,0 +1,126 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class CorpusSummaryTest {
+
+    /*
+     * Testing strategy:
+     *
+     * tweets: empty, one, many
+     * mentions: none, self-mention, repeated, differing case, of non-authors
+     * each getter agrees with the separate Extract and SocialNetwork methods;
+     * follower counts: 0, > 1
+     * influencers: unmodifiable and sorted once; top k with small and large
+     *   k, before and after getInfluencers()
+     */
+
+    private static final Instant d1 = Instant.parse("2016-02-17T10:00:00Z");
+    private static final Instant d2 = Instant.parse("2016-02-17T11:00:00Z");
+
+    @Test(expected = AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmpty() {
+        CorpusSummary summary = CorpusSummary.analyze(Collections.emptyList());
+        assertEquals(0, summary.getTweetCount());
+        assertTrue(summary.getMentionedUsers().isEmpty());
+        assertTrue(summary.getFollowsGraph().isEmpty());
+        assertTrue(summary.getInfluencers().isEmpty());
+        summary.getTimespan();
+    }
+
+    @Test
+    public void testSmallCorpus() {
+        List<Tweet> tweets = Arrays.asList(
+                new Tweet(1, "alyssa", "hi @Ben_B and @bbitdiddle and @ALYSSA", d2),
+                new Tweet(2, "BBitdiddle", "@ben_b @ben_b", d1),
+                new Tweet(3, "carl", "no mentions", d1));
+        CorpusSummary summary = CorpusSummary.analyze(tweets);
+
+        assertEquals(3, summary.getTweetCount());
+        assertEquals(d1, summary.getTimespan().getStart());
+        assertEquals(d2, summary.getTimespan().getEnd());
+        assertEquals(Extract.getMentionedUsers(tweets), summary.getMentionedUsers());
+        assertEquals(SocialNetwork.guessFollowsGraph(tweets), summary.getFollowsGraph());
+        assertEquals(Arrays.asList("ben_b", "bbitdiddle", "alyssa", "carl"), summary.getInfluencers());
+        Map<String, Integer> counts = new HashMap<>();
+        counts.put("ben_b", 2);
+        counts.put("bbitdiddle", 1);
+        counts.put("alyssa", 0);
+        counts.put("carl", 0);
+        assertEquals(counts, summary.getFollowerCounts());
+    }
+
+    @Test
+    public void testMatchesSeparatePasses() {
+        Random random = new Random(6005);
+        String[] names = { "a", "B", "c_1", "Dd", "e" };
+        List<Tweet> tweets = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            StringBuilder text = new StringBuilder();
+            for (int m = random.nextInt(4); m > 0; m--) {
+                text.append(random.nextBoolean() ? " @" : " x@").append(names[random.nextInt(names.length)]);
+            }
+            tweets.add(new Tweet(i, names[random.nextInt(names.length - 1)], text.toString(),
+                                 d1.plusSeconds(random.nextInt(100000))));
+        }
+        CorpusSummary summary = CorpusSummary.analyze(tweets);
+        Map<String, Set<String>> graph = SocialNetwork.guessFollowsGraph(tweets);
+
+        assertEquals(Extract.getTimespan(tweets).getStart(), summary.getTimespan().getStart());
+        assertEquals(Extract.getTimespan(tweets).getEnd(), summary.getTimespan().getEnd());
+        assertEquals(Extract.getMentionedUsers(tweets), summary.getMentionedUsers());
+        assertEquals(graph, summary.getFollowsGraph());
+        assertEquals(SocialNetwork.influencers(graph), summary.getInfluencers());
+    }
+
+    @Test
+    public void testInfluencersSortedOnce() {
+        List<Tweet> tweets = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            tweets.add(new Tweet(i, "u" + i, "@u" + (i % 7) + " @u" + (i % 13), d1));
+        }
+        CorpusSummary summary = CorpusSummary.analyze(tweets);
+        List<String> expected = SocialNetwork.influencers(summary.getFollowsGraph());
+
+        List<String> heapTop = summary.getTopInfluencers(3);
+        List<String> sortedTop = summary.getTopInfluencers(150);
+        assertEquals(expected.subList(0, 3), heapTop);
+        assertEquals(expected.subList(0, 150), sortedTop);
+
+        List<String> influencers = summary.getInfluencers();
+        assertEquals(expected, influencers);
+        assertSame(influencers, summary.getInfluencers());
+        try {
+            influencers.remove(0);
+            fail("expected UnsupportedOperationException");
+        } catch (UnsupportedOperationException unmodifiable) {
+            // getInfluencers() is unmodifiable
+        }
+
+        List<String> cachedTop = summary.getTopInfluencers(3);
+        assertEquals(heapTop, cachedTop);
+        cachedTop.clear();
+        assertEquals(expected, summary.getInfluencers());
+        assertEquals(expected, summary.getTopInfluencers(500));
+    }
+}
@@ -0,0 +1,91 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class CreatedAtParserTest {
+
+    /*
+     * Testing strategy:
+     *
+     * compare against ZonedDateTime.parse with the pattern TweetReader uses, over:
+     *  - random instants from year 1 to 9999 with random offsets up to +/-17:59
+     *  - leap days, month ends, midnight and 23:59:59
+     *  - layouts only the general parser handles (offsets +/-1800, hour 24)
+     * and check both paths reject:
+     *  - wrong day of the week, Feb 30, hour 25, lowercase names, garbage
+     */
+
+    @Test(expected = AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false;
+    }
+
+    @Test
+    public void testTypicalTimestamp() {
+        assertEquals(Instant.parse("2016-02-17T10:00:00Z"),
+                CreatedAtParser.parseInstant("Wed Feb 17 10:00:00 +0000 2016"));
+        assertEquals(Instant.parse("2016-02-17T15:30:00Z"),
+                CreatedAtParser.parseInstant("Wed Feb 17 10:00:00 -0530 2016"));
+    }
+
+    @Test
+    public void testMatchesGeneralParserOnRandomInstants() {
+        Random random = new Random(6005);
+        long min = ZonedDateTime.parse("Mon Jan 01 00:00:00 +0000 0001", CreatedAtParser.FORMAT).toEpochSecond();
+        long max = ZonedDateTime.parse("Fri Dec 31 00:00:00 +0000 9999", CreatedAtParser.FORMAT).toEpochSecond();
+        for (int i = 0; i < 20000; i++) {
+            long epochSecond = min + (long) (random.nextDouble() * (max - min));
+            ZoneOffset offset = ZoneOffset.ofTotalSeconds((random.nextInt(2 * 1079) - 1079) * 60);
+            assertSameAsGeneralParser(Instant.ofEpochSecond(epochSecond).atZone(offset).format(CreatedAtParser.FORMAT));
+        }
+    }
+
+    @Test
+    public void testMatchesGeneralParserOnEdges() {
+        assertSameAsGeneralParser("Mon Feb 29 00:00:00 +0000 2016");
+        assertSameAsGeneralParser("Tue Feb 29 23:59:59 -1159 2000");
+        assertSameAsGeneralParser("Thu Dec 31 23:59:59 +0000 2015");
+        assertSameAsGeneralParser("Thu Jan 01 00:00:00 +0000 1970");
+        assertSameAsGeneralParser("Wed Dec 31 23:59:59 +0000 1969");
+        assertSameAsGeneralParser("Wed Feb 17 10:00:00 +1800 2016");
+        assertSameAsGeneralParser("Wed Feb 17 10:00:00 -1800 2016");
+        assertSameAsGeneralParser("Tue Feb 16 24:00:00 +0000 2016");
+    }
+
+    @Test
+    public void testRejectsWhatGeneralParserRejects() {
+        String[] invalid = {
+            "Thu Feb 17 10:00:00 +0000 2016",
+            "Tue Feb 30 10:00:00 +0000 2016",
+            "Wed Feb 17 25:00:00 +0000 2016",
+            "wed feb 17 10:00:00 +0000 2016",
+            "Wed Feb 17 10:00:00 +1900 2016",
+            "Wed Feb 17 10:00:00 Z 2016",
+            "not a timestamp",
+        };
+        for (String createdAt : invalid) {
+            try {
+                CreatedAtParser.parseEpochSecond(createdAt);
+                fail("expected parse failure for " + createdAt);
+            } catch (DateTimeParseException expected) {
+                // rejected, as by ZonedDateTime.parse
+            }
+        }
+    }
+
+    private static void assertSameAsGeneralParser(String createdAt) {
+        Instant expected = ZonedDateTime.parse(createdAt, CreatedAtParser.FORMAT).toInstant();
+        assertEquals(createdAt, expected, CreatedAtParser.parseInstant(createdAt));
+    }
+}
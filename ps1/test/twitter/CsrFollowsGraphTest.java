@@ -0,0 +1,148 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class CsrFollowsGraphTest {
+
+    /*
+     * Testing strategy:
+     *
+     * fromTweets: no tweets, authors without mentions, repeated mentions,
+     *   self-mentions, mentions differing in case; equals guessFollowsGraph;
+     *   repeats a few or most of the mentions
+     * fromMap / toMap: round trip, keys with empty sets, keys differing in case
+     * queries: vertex of absent user, outDegree 0 and > 0, neighbour in and out
+     *   of range, hasEdge true and false, followerCounts
+     * SocialNetwork.influencers(csr): same as influencers(map), on random graphs
+     */
+
+    private static final Instant d1 = Instant.parse("2016-02-17T10:00:00Z");
+
+    @Test(expected = AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false;
+    }
+
+    @Test
+    public void testEmpty() {
+        CsrFollowsGraph graph = CsrFollowsGraph.fromTweets(Collections.emptyList());
+        assertEquals(0, graph.vertexCount());
+        assertEquals(0, graph.edgeCount());
+        assertEquals(Collections.emptyMap(), graph.toMap());
+        assertEquals(-1, graph.vertex("alyssa"));
+        assertTrue(SocialNetwork.influencers(graph).isEmpty());
+    }
+
+    @Test
+    public void testFromTweets() {
+        List<Tweet> tweets = Arrays.asList(
+                new Tweet(1, "Alyssa", "@ben_b @BEN_B @alyssa @carl", d1),
+                new Tweet(2, "ben_b", "no mentions", d1),
+                new Tweet(3, "alyssa", "@dave", d1));
+        CsrFollowsGraph graph = CsrFollowsGraph.fromTweets(tweets);
+
+        assertEquals(SocialNetwork.guessFollowsGraph(tweets), graph.toMap());
+        assertEquals(4, graph.vertexCount());
+        assertEquals(3, graph.edgeCount());
+        int alyssa = graph.vertex("ALYSSA");
+        int ben = graph.vertex("Ben_B");
+        assertEquals("alyssa", graph.name(alyssa));
+        assertEquals(3, graph.outDegree(alyssa));
+        assertEquals(0, graph.outDegree(ben));
+        assertTrue(graph.hasEntry(ben));
+        assertFalse(graph.hasEntry(graph.vertex("carl")));
+        assertTrue(graph.hasEdge(alyssa, ben));
+        assertFalse(graph.hasEdge(ben, alyssa));
+        assertTrue(graph.follows("alyssa", "DAVE"));
+        assertFalse(graph.follows("alyssa", "alyssa"));
+        assertFalse(graph.follows("nobody", "alyssa"));
+        int[] neighbours = graph.neighbours(alyssa);
+        for (int i = 0; i < neighbours.length; i++) {
+            assertEquals(neighbours[i], graph.neighbour(alyssa, i));
+            assertTrue(i == 0 || neighbours[i - 1] < neighbours[i]);
+        }
+        assertEquals(1, graph.followerCounts()[ben]);
+        assertEquals(0, graph.followerCounts()[alyssa]);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testNeighbourOutOfRange() {
+        CsrFollowsGraph graph = CsrFollowsGraph.fromTweets(Arrays.asList(new Tweet(1, "a", "@b", d1)));
+        graph.neighbour(graph.vertex("a"), 1);
+    }
+
+    @Test
+    public void testFromMapRoundTrip() {
+        Map<String, Set<String>> map = new HashMap<>();
+        map.put("a", new HashSet<>(Arrays.asList("b", "c")));
+        map.put("b", new HashSet<>());
+        map.put("d", new HashSet<>(Arrays.asList("a")));
+        assertEquals(map, CsrFollowsGraph.fromMap(map).toMap());
+
+        Map<String, Set<String>> mixedCase = new HashMap<>();
+        mixedCase.put("A", new HashSet<>(Arrays.asList("B")));
+        mixedCase.put("a", new HashSet<>(Arrays.asList("b", "C")));
+        Map<String, Set<String>> expected = new HashMap<>();
+        expected.put("a", new HashSet<>(Arrays.asList("b", "c")));
+        assertEquals(expected, CsrFollowsGraph.fromMap(mixedCase).toMap());
+    }
+
+    @Test
+    public void testInfluencersMatchMap() {
+        Random random = new Random(6005);
+        for (int round = 0; round < 20; round++) {
+            List<Tweet> tweets = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String text = "@u" + random.nextInt(30) + " @U" + random.nextInt(30);
+                tweets.add(new Tweet(i, "u" + random.nextInt(40), text, d1));
+            }
+            CsrFollowsGraph graph = CsrFollowsGraph.fromTweets(tweets);
+            Map<String, Set<String>> map = SocialNetwork.guessFollowsGraph(tweets);
+            assertEquals(map, graph.toMap());
+            assertEquals(SocialNetwork.influencers(map), SocialNetwork.influencers(graph));
+            assertEquals(map, CsrFollowsGraph.fromMap(map).toMap());
+        }
+    }
+
+    @Test
+    public void testRepeatedMentions() {
+        List<Tweet> mostlyRepeats = new ArrayList<>();
+        List<Tweet> fewRepeats = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            mostlyRepeats.add(new Tweet(i, "a", "@b @B @c", d1));
+            fewRepeats.add(new Tweet(i, "u" + i, "@v" + i + " @w" + i + (i == 0 ? " @V0" : ""), d1));
+        }
+        for (List<Tweet> tweets : Arrays.asList(mostlyRepeats, fewRepeats)) {
+            CsrFollowsGraph graph = CsrFollowsGraph.fromTweets(tweets);
+            Map<String, Set<String>> map = SocialNetwork.guessFollowsGraph(tweets);
+            assertEquals(map, graph.toMap());
+            int edges = 0;
+            for (Set<String> followees : map.values()) {
+                edges += followees.size();
+            }
+            assertEquals(edges, graph.edgeCount());
+            int followers = 0;
+            for (int count : graph.followerCounts()) {
+                followers += count;
+            }
+            assertEquals(edges, followers);
+            assertEquals(SocialNetwork.influencers(map), SocialNetwork.influencers(graph));
+        }
+    }
+}
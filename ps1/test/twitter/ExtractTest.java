@@ -7,6 +7,7 @@ import static org.junit.Assert.*;
 
 import java.time.Instant;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -186,5 +187,24 @@ Mentions adjacent to punctuation and parentheses.	*/
         assertEquals(expected, mentioned);
     }
 
+/*
+ *
+ * getHashtags:
+ * - no hashtags, including a# preceded by a username character, # alone, ##.
+ * - several hashtags, repeated in different case (set: unique, lower-case).
+ * - hashtag of all digits, followed by punctuation, inside parentheses.*/
 
+    @Test
+    public void testGetHashtagsNone() {
+        Tweet t = new Tweet(16, "a", "no tags a#b #1 # ##", d1);
+        assertEquals(Collections.emptySet(), Extract.getHashtags(Arrays.asList(t)));
+    }
+
+    @Test
+    public void testGetHashtagsRepeatedDigitsPunctuation() {
+        Tweet t1 = new Tweet(17, "a", "talk in 30 minutes #hype, #HYPE!", d1);
+        Tweet t2 = new Tweet(18, "b", "(#6005x) #Mit_2016 #6005x", d2);
+        Set<String> expected = new HashSet<>(Arrays.asList("hype", "6005x", "mit_2016"));
+        assertEquals(expected, Extract.getHashtags(Arrays.asList(t1, t2)));
+    }
 }
@@ -0,0 +1,100 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+public class FilterStreamTest {
+
+    /*
+     * Testing strategy for Filter's stream methods:
+     *
+     * method: streamWrittenBy, streamInTimespan, streamContaining, stream
+     * consumption: collect everything (same as the list methods), limit,
+     *   anyMatch, findFirst, count
+     * laziness: short-circuiting operations stop reading the input early;
+     *   nothing is read before a terminal operation
+     */
+
+    private static final Instant d1 = Instant.parse("2016-02-17T10:00:00Z");
+    private static final Instant d2 = Instant.parse("2016-02-17T11:00:00Z");
+
+    @Test(expected = AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false;
+    }
+
+    @Test
+    public void testSameAsListMethods() {
+        List<Tweet> tweets = corpus(1000);
+        Timespan span = new Timespan(d1, d1.plusSeconds(300));
+        List<String> words = Arrays.asList("rivest");
+        assertEquals(Filter.writtenBy(tweets, "ALYSSA"),
+                     Filter.streamWrittenBy(tweets, "ALYSSA").collect(Collectors.toList()));
+        assertEquals(Filter.inTimespan(tweets, span),
+                     Filter.streamInTimespan(tweets, span).collect(Collectors.toList()));
+        assertEquals(Filter.containing(tweets, words),
+                     Filter.streamContaining(tweets, words).collect(Collectors.toList()));
+        assertEquals(Filter.containing(tweets, words).size(), Filter.streamContaining(tweets, words).count());
+    }
+
+    @Test
+    public void testShortCircuits() {
+        CountingList tweets = new CountingList(corpus(100000));
+        List<Tweet> page = Filter.streamWrittenBy(tweets, "bbitdiddle").limit(5).collect(Collectors.toList());
+        assertEquals(5, page.size());
+        assertTrue("read " + tweets.reads, tweets.reads < 100);
+
+        tweets.reads = 0;
+        assertTrue(Filter.streamContaining(tweets, Arrays.asList("talk")).anyMatch(t -> true));
+        assertTrue("read " + tweets.reads, tweets.reads < 100);
+
+        tweets.reads = 0;
+        TweetQuery query = TweetQuery.inTimespan(new Timespan(d2, d2)).and(TweetQuery.writtenBy("alyssa"));
+        Filter.stream(tweets, query);
+        assertEquals(0, tweets.reads);
+        assertEquals(99999, Filter.stream(tweets, query).findFirst().get().getId());
+    }
+
+    private static List<Tweet> corpus(int size) {
+        String[] authors = { "alyssa", "bbitdiddle", "Alyssa" };
+        String[] texts = { "is it reasonable to talk about rivest so much?", "talk", "nothing" };
+        List<Tweet> tweets = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            tweets.add(new Tweet(i, authors[i % authors.length], texts[i % texts.length],
+                                 i == size - 1 ? d2 : d1.plusSeconds(i % 600)));
+        }
+        return tweets;
+    }
+
+    /*
+     * A list that counts how many of its elements have been read.
+     */
+    private static class CountingList extends AbstractList<Tweet> {
+        private final List<Tweet> tweets;
+        private int reads = 0;
+
+        CountingList(List<Tweet> tweets) {
+            this.tweets = tweets;
+        }
+
+        @Override public Tweet get(int index) {
+            reads++;
+            return tweets.get(index);
+        }
+
+        @Override public int size() {
+            return tweets.size();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Times SocialNetwork.guessFollowsGraph, sequential and on pools of 1, 2, 4,
+ * ... up to the number of available processors (or a given maximum), over a
+ * synthetic corpus. Not a test; run by hand with assertions enabled:
+ *
+ *   java -ea -cp ... twitter.FollowsGraphBenchmark [tweets] [users] [max parallelism]
+ */
+public class FollowsGraphBenchmark {
+
+    public static void main(String[] args) {
+        int tweetCount = args.length > 0 ? Integer.parseInt(args[0]) : 2000000;
+        int userCount = args.length > 1 ? Integer.parseInt(args[1]) : 200000;
+        List<Tweet> tweets = Benchmarks.corpus(tweetCount, userCount, new Random(6005));
+        System.out.println(tweetCount + " tweets, " + userCount + " users");
+
+        Map<String, Set<String>> expected = SocialNetwork.guessFollowsGraph(tweets);
+        double sequential = Benchmarks.time(() -> SocialNetwork.guessFollowsGraph(tweets));
+        System.out.printf("sequential      %8.1f ms%n", sequential);
+
+        int cores = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        for (int parallelism = 1; ; parallelism = Math.min(2 * parallelism, cores)) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                if (!SocialNetwork.guessFollowsGraph(tweets, pool).equals(expected)) {
+                    throw new AssertionError("parallel graph differs from sequential graph");
+                }
+                double ms = Benchmarks.time(() -> SocialNetwork.guessFollowsGraph(tweets, pool));
+                System.out.printf("parallel x%-4d %8.1f ms  speedup %.2f%n", parallelism, ms, sequential / ms);
+            } finally {
+                pool.shutdown();
+            }
+            if (parallelism == cores) {
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,208 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class FollowsGraphTest {
+
+    /*
+     * Testing strategy:
+     *
+     * addTweet: no mentions, self-mention, repeated mentions, mentions
+     *   differing in case
+     * removeTweet: edge with one piece of evidence, with several; author's
+     *   last tweet; tweet never added (unknown author, unknown mention, too
+     *   little evidence, text without mentions by a known author, tweet
+     *   already removed, id of an added tweet with other mentions), which
+     *   leaves the graph unchanged
+     * ids: the same tweet added twice counts twice; a different tweet with
+     *   the id of an added one is rejected, and accepted once that is removed
+     * follower counts: 0, rise and fall with edges, not with evidence
+     * differential: after random adds and removes, toMap() and influencers()
+     *   equal SocialNetwork's over the remaining tweets
+     */
+
+    private static final Instant d1 = Instant.parse("2016-02-17T10:00:00Z");
+
+    @Test(expected = AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false;
+    }
+
+    @Test
+    public void testEvidenceCounts() {
+        FollowsGraph graph = new FollowsGraph();
+        Tweet t1 = new Tweet(1, "alyssa", "@ben_b @BEN_B @alyssa", d1);
+        Tweet t2 = new Tweet(2, "Alyssa", "@ben_b", d1);
+        graph.addTweet(t1);
+        graph.addTweet(t2);
+
+        assertEquals(3, graph.evidence("alyssa", "ben_b"));
+        assertEquals(0, graph.evidence("alyssa", "alyssa"));
+        assertEquals(1, graph.getFollowerCount("BEN_B"));
+        assertEquals(new HashSet<>(Arrays.asList("ben_b")), graph.getFollowees("alyssa"));
+
+        graph.removeTweet(t1);
+        assertTrue(graph.follows("alyssa", "ben_b"));
+        assertEquals(1, graph.getFollowerCount("ben_b"));
+        graph.removeTweet(t2);
+        assertFalse(graph.follows("alyssa", "ben_b"));
+        assertEquals(0, graph.getFollowerCount("ben_b"));
+        assertEquals(Collections.emptyMap(), graph.toMap());
+        assertTrue(graph.influencers().isEmpty());
+    }
+
+    @Test
+    public void testRemoveUnknownLeavesGraphUnchanged() {
+        FollowsGraph graph = new FollowsGraph();
+        graph.addTweet(new Tweet(1, "a", "@b", d1));
+        List<Tweet> bad = Arrays.asList(
+                new Tweet(2, "nobody", "@b", d1),
+                new Tweet(3, "a", "@nobody", d1),
+                new Tweet(4, "a", "@b @b", d1),
+                new Tweet(1, "a", "@b @b", d1),
+                new Tweet(1, "a", "no mentions", d1));
+        for (Tweet t : bad) {
+            try {
+                graph.removeTweet(t);
+                fail("expected IllegalArgumentException for " + t.getText());
+            } catch (IllegalArgumentException expected) {
+                assertEquals(1, graph.evidence("a", "b"));
+                assertEquals(1, graph.getFollowerCount("b"));
+            }
+        }
+    }
+
+    @Test
+    public void testRemoveUnrelatedTextLeavesGraphUnchanged() {
+        FollowsGraph graph = new FollowsGraph();
+        InfluencerLeaderboard board = new InfluencerLeaderboard(graph);
+        Tweet hi = new Tweet(1, "alice", "hi @bob", d1);
+        graph.addTweet(hi);
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                graph.removeTweet(new Tweet(2, "Alice", "unrelated text", d1));
+                fail("expected IllegalArgumentException");
+            } catch (IllegalArgumentException expected) {
+                assertEquals(Collections.singletonMap("alice", Collections.singleton("bob")), graph.toMap());
+                assertEquals(Arrays.asList("bob", "alice"), graph.influencers());
+                assertEquals(Arrays.asList("bob", "alice"), board.top(2));
+                assertEquals(1, graph.getFollowerCount("bob"));
+            }
+            if (attempt == 0) {
+                graph.removeTweet(new Tweet(1, "ALICE", "hi @BOB again", d1));
+                graph.addTweet(hi);
+            }
+        }
+        graph.removeTweet(hi);
+        try {
+            graph.removeTweet(hi);
+            fail("expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+            assertEquals(Collections.emptyMap(), graph.toMap());
+            assertEquals(0, graph.getFollowerCount("bob"));
+        }
+    }
+
+    @Test
+    public void testTweetIds() {
+        FollowsGraph graph = new FollowsGraph();
+        Tweet t = new Tweet(1, "a", "@b", d1);
+        graph.addTweet(t);
+        graph.addTweet(t);
+        try {
+            graph.addTweet(new Tweet(1, "a", "@c", d1));
+            fail("expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+            assertEquals(Collections.singletonMap("a", Collections.singleton("b")), graph.toMap());
+            assertEquals(0, graph.getFollowerCount("c"));
+        }
+        graph.removeTweet(t);
+        assertEquals(1, graph.evidence("a", "b"));
+        graph.removeTweet(t);
+        assertEquals(Collections.emptyMap(), graph.toMap());
+        graph.addTweet(new Tweet(1, "a", "@c", d1));
+        assertTrue(graph.follows("a", "c"));
+    }
+
+    @Test
+    public void testRandomUpdatesMatchSocialNetwork() {
+        Random random = new Random(6005);
+        FollowsGraph graph = new FollowsGraph();
+        List<Tweet> live = new ArrayList<>();
+        for (int step = 0; step < 3000; step++) {
+            if (!live.isEmpty() && random.nextInt(3) == 0) {
+                graph.removeTweet(live.remove(random.nextInt(live.size())));
+            } else {
+                StringBuilder text = new StringBuilder();
+                for (int m = random.nextInt(4); m > 0; m--) {
+                    text.append(" @").append(random.nextBoolean() ? "u" : "U").append(random.nextInt(15));
+                }
+                Tweet t = new Tweet(step, "u" + random.nextInt(15), text.toString(), d1);
+                graph.addTweet(t);
+                live.add(t);
+            }
+            if (step % 100 == 0) {
+                assertEquals(SocialNetwork.guessFollowsGraph(live), graph.toMap());
+                assertEquals(SocialNetwork.influencers(graph.toMap()), graph.influencers());
+            }
+        }
+    }
+
+    @Test
+    public void testIntCountMap() {
+        IntCountMap counts = new IntCountMap();
+        Random random = new Random(1);
+        int[] reference = new int[200];
+        for (int step = 0; step < 20000; step++) {
+            int key = random.nextInt(200) * 7919;
+            int delta = reference[key / 7919] > 0 && random.nextBoolean() ? -1 : 1;
+            reference[key / 7919] += delta;
+            assertEquals(reference[key / 7919], counts.add(key, delta));
+        }
+        int size = 0;
+        for (int k = 0; k < 200; k++) {
+            assertEquals(reference[k], counts.get(k * 7919));
+            size += reference[k] > 0 ? 1 : 0;
+        }
+        assertEquals(size, counts.size());
+        assertEquals(size, counts.keys().length);
+    }
+
+    @Test
+    public void testTweetIdMultiset() {
+        TweetIdMultiset tweets = new TweetIdMultiset();
+        Random random = new Random(1);
+        int[] reference = new int[200];
+        for (int step = 0; step < 20000; step++) {
+            int k = random.nextInt(200);
+            long id = k * 1000000007L;
+            if (reference[k] > 0 && random.nextBoolean()) {
+                assertFalse(tweets.remove(id, k + 1));
+                assertTrue(tweets.remove(id, k));
+                reference[k]--;
+            } else {
+                tweets.add(id, k);
+                reference[k]++;
+            }
+        }
+        int size = 0;
+        for (int k = 0; k < 200; k++) {
+            assertEquals(reference[k], tweets.count(k * 1000000007L));
+            size += reference[k] > 0 ? 1 : 0;
+        }
+        assertEquals(size, tweets.size());
+    }
+}
@@ -0,0 +1,77 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class HashtagTrendsTest {
+
+    /*
+     * Testing strategy:
+     *
+     * window: 1 minute, several minutes; invalid
+     * tweets: none, in the same minute, in later minutes (window advances, old
+     *   buckets expire), out of order within the window, older than the
+     *   window, far in the future (whole window expires)
+     * query minutes: 1, whole window, out of range; k: 0, < tags, > tags
+     */
+
+    private static final Instant d1 = Instant.parse("2016-02-17T10:00:00Z");
+
+    @Test(expected = AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testQueryBeyondWindow() {
+        new HashtagTrends(5).top(3, 6);
+    }
+
+    @Test
+    public void testEmpty() {
+        HashtagTrends trends = new HashtagTrends(5);
+        assertTrue(trends.top(3, 5).isEmpty());
+        assertEquals(0, trends.count("hype", 1));
+    }
+
+    @Test
+    public void testSlidingWindow() {
+        HashtagTrends trends = new HashtagTrends(3);
+        assertTrue(trends.add(tweet(0, "#a #b")));
+        assertTrue(trends.add(tweet(0, "#b")));
+        assertTrue(trends.add(tweet(1, "#c #C #c")));
+        assertTrue(trends.add(tweet(2, "#a")));
+
+        assertEquals(Arrays.asList("c", "a", "b"), trends.top(5, 3));
+        assertEquals(Arrays.asList("c"), trends.top(1, 3));
+        assertEquals(Arrays.asList("a"), trends.top(5, 1));
+        assertEquals(2, trends.count("A", 3));
+        assertTrue(trends.top(0, 3).isEmpty());
+
+        // minute 3 expires minute 0
+        assertTrue(trends.add(tweet(3, "#d")));
+        assertEquals(Arrays.asList("c", "a", "d"), trends.top(5, 3));
+        assertEquals(0, trends.count("b", 3));
+
+        // late but inside the window, and too late
+        assertTrue(trends.add(tweet(1, "#d")));
+        assertFalse(trends.add(tweet(0, "#zzz")));
+        assertEquals(2, trends.count("d", 3));
+        assertEquals(0, trends.count("zzz", 3));
+
+        // far ahead: everything before expires
+        assertTrue(trends.add(tweet(100, "#e")));
+        assertEquals(Arrays.asList("e"), trends.top(5, 3));
+    }
+
+    private static Tweet tweet(int minute, String text) {
+        return new Tweet(minute, "a", text, d1.plusSeconds(60L * minute + 59));
+    }
+}
@@ -0,0 +1,102 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class HyperLogLogTest {
+
+    /*
+     * Testing strategy:
+     *
+     * precision: MIN_PRECISION, typical, MAX_PRECISION, out of range
+     * distinct count: 0, small (linear counting), large (raw estimate)
+     * usernames: repeated, differing only in case
+     * merge: disjoint sketches, overlapping sketches, different precisions
+     * addMentions / Extract.estimateMentionedUsers: same mention rules as
+     *   getMentionedUsers
+     */
+
+    private static final Instant d1 = Instant.parse("2016-02-17T10:00:00Z");
+
+    @Test(expected = AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPrecisionTooSmall() {
+        new HyperLogLog(HyperLogLog.MIN_PRECISION - 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMergeDifferentPrecision() {
+        new HyperLogLog(10).merge(new HyperLogLog(11));
+    }
+
+    @Test
+    public void testEmptyAndSmall() {
+        HyperLogLog sketch = new HyperLogLog(12);
+        assertEquals(0, sketch.estimate());
+        sketch.add("alyssa");
+        sketch.add("ALYSSA");
+        sketch.add("text @Alyssa here", 6, 12);
+        sketch.add("bbitdiddle");
+        assertEquals(2, sketch.estimate());
+        assertEquals(1.04 / 64, sketch.standardError(), 1e-12);
+    }
+
+    @Test
+    public void testLargeCountsWithinErrorBound() {
+        for (int precision : new int[] { HyperLogLog.MIN_PRECISION, 12, HyperLogLog.MAX_PRECISION }) {
+            HyperLogLog sketch = new HyperLogLog(precision);
+            int n = 200000;
+            for (int i = 0; i < n; i++) {
+                sketch.add("user_" + i);
+            }
+            double error = Math.abs(sketch.estimate() - n) / (double) n;
+            assertTrue("precision " + precision + " error " + error, error < 4 * sketch.standardError());
+        }
+    }
+
+    @Test
+    public void testMergeIsUnion() {
+        HyperLogLog left = new HyperLogLog(14);
+        HyperLogLog right = new HyperLogLog(14);
+        HyperLogLog both = new HyperLogLog(14);
+        for (int i = 0; i < 60000; i++) {
+            (i % 2 == 0 ? left : right).add("u" + i);
+            both.add("u" + i);
+            if (i % 3 == 0) {
+                left.add("U" + i);
+            }
+        }
+        left.merge(right);
+        assertEquals(both.estimate(), left.estimate());
+    }
+
+    @Test
+    public void testEstimateMentionedUsers() {
+        List<Tweet> tweets = Arrays.asList(
+                new Tweet(1, "a", "@Alyssa and @ben_b, mail bitdiddle@mit.edu", d1),
+                new Tweet(2, "b", "@alyssa @carl", d1));
+        HyperLogLog sketch = Extract.estimateMentionedUsers(tweets, 10);
+        assertEquals(Extract.getMentionedUsers(tweets).size(), sketch.estimate());
+
+        List<Tweet> many = new ArrayList<>();
+        for (int i = 0; i < 30000; i++) {
+            many.add(new Tweet(i, "a", "hi @user" + (i % 20000) + " and @USER" + ((i * 7) % 20000), d1));
+        }
+        long exact = Extract.getMentionedUsers(many).size();
+        HyperLogLog big = Extract.estimateMentionedUsers(many, 14);
+        assertTrue(Math.abs(big.estimate() - exact) < 4 * big.standardError() * exact);
+    }
+}
@@ -0,0 +1,113 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class InfluencerLeaderboardTest {
+
+    /*
+     * Testing strategy:
+     *
+     * update: new user, count up, count down, same count; remove: present,
+     *   absent
+     * queries: empty board; rank of first, middle, last, absent user; get
+     *   in and out of range; top k with k 0, < size, > size
+     * ties in count: ordered alphabetically
+     * following a FollowsGraph: attached to an empty graph, to a nonempty
+     *   one; after random adds and removes, the ranking equals the graph's
+     *   influencers()
+     */
+
+    private static final Instant d1 = Instant.parse("2016-02-17T10:00:00Z");
+
+    @Test(expected = AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false;
+    }
+
+    @Test
+    public void testEmpty() {
+        InfluencerLeaderboard board = new InfluencerLeaderboard();
+        assertEquals(0, board.size());
+        assertEquals(-1, board.rank("a"));
+        assertTrue(board.top(3).isEmpty());
+        assertFalse(board.remove("a"));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfRange() {
+        InfluencerLeaderboard board = new InfluencerLeaderboard();
+        board.update("a", 1);
+        board.get(1);
+    }
+
+    @Test
+    public void testUpdates() {
+        InfluencerLeaderboard board = new InfluencerLeaderboard();
+        board.update("carl", 1);
+        board.update("alyssa", 1);
+        board.update("ben", 3);
+        board.update("dave", 0);
+        assertEquals(Arrays.asList("ben", "alyssa", "carl", "dave"), board.top(10));
+        assertEquals(Arrays.asList("ben", "alyssa"), board.top(2));
+        assertTrue(board.top(0).isEmpty());
+        assertEquals(0, board.rank("ben"));
+        assertEquals(2, board.rank("carl"));
+        assertEquals("dave", board.get(3));
+
+        board.update("dave", 5);
+        board.update("ben", 0);
+        board.update("alyssa", 1);
+        assertEquals(Arrays.asList("dave", "alyssa", "carl", "ben"), board.top(10));
+        assertEquals(3, board.rank("ben"));
+        assertEquals(0, board.getFollowerCount("ben"));
+
+        assertTrue(board.remove("alyssa"));
+        assertEquals(3, board.size());
+        assertEquals(1, board.rank("carl"));
+        assertEquals(-1, board.getFollowerCount("alyssa"));
+    }
+
+    @Test
+    public void testFollowsGraph() {
+        Random random = new Random(6005);
+        FollowsGraph graph = new FollowsGraph();
+        graph.addTweet(new Tweet(0, "u1", "@u2 @u3", d1));
+        InfluencerLeaderboard board = new InfluencerLeaderboard(graph);
+        assertEquals(graph.influencers(), board.top(Integer.MAX_VALUE));
+
+        List<Tweet> live = new ArrayList<>();
+        for (int step = 1; step < 3000; step++) {
+            if (!live.isEmpty() && random.nextInt(3) == 0) {
+                graph.removeTweet(live.remove(random.nextInt(live.size())));
+            } else {
+                StringBuilder text = new StringBuilder();
+                for (int m = random.nextInt(4); m > 0; m--) {
+                    text.append(" @U").append(random.nextInt(40));
+                }
+                Tweet t = new Tweet(step, "u" + random.nextInt(40), text.toString(), d1);
+                graph.addTweet(t);
+                live.add(t);
+            }
+            if (step % 50 == 0) {
+                List<String> expected = graph.influencers();
+                assertEquals(expected, board.top(expected.size() + 1));
+                assertEquals(expected.subList(0, Math.min(10, expected.size())), board.top(10));
+                for (int r = 0; r < expected.size(); r++) {
+                    assertEquals(r, board.rank(expected.get(r)));
+                    assertEquals(expected.get(r), board.get(r));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Times the top 10 influencers found by SocialNetwork.influencers (full sort)
+ * and by SocialNetwork.topInfluencers (bounded heap) over a synthetic graph.
+ * Not a test; run by hand with assertions enabled:
+ *
+ *   java -ea -cp ... twitter.InfluencersBenchmark [tweets] [users]
+ */
+public class InfluencersBenchmark {
+
+    private static final int K = 10;
+
+    public static void main(String[] args) {
+        int tweetCount = args.length > 0 ? Integer.parseInt(args[0]) : 2000000;
+        int userCount = args.length > 1 ? Integer.parseInt(args[1]) : 500000;
+        Map<String, Set<String>> graph = SocialNetwork.guessFollowsGraph(
+                Benchmarks.corpus(tweetCount, userCount, new Random(6005)));
+        System.out.println(graph.size() + " authors");
+
+        Supplier<List<String>> fullSort = () -> SocialNetwork.influencers(graph).subList(0, K);
+        Supplier<List<String>> topK = () -> SocialNetwork.topInfluencers(graph, K);
+        if (!fullSort.get().equals(topK.get())) {
+            throw new AssertionError("top-k differs from full sort");
+        }
+        double full = Benchmarks.time(fullSort);
+        double heap = Benchmarks.time(topK);
+        System.out.printf("full sort       %8.1f ms%n", full);
+        System.out.printf("bounded heap    %8.1f ms  speedup %.2f%n", heap, full / heap);
+    }
+}
@@ -0,0 +1,128 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class KeywordMatcherTest {
+
+    /*
+     * Testing strategy:
+     *
+     * differential: Filter.containing(tweets, matcher) must equal
+     * Filter.containing(tweets, words) on
+     *  - random texts mixing letters of both cases, digits, '_', punctuation,
+     *    non-ASCII letters, combining marks, supplementary characters, spaces
+     *  - random word lists of 0 to 4 words, including words that are
+     *    prefixes, suffixes or infixes of one another, words with non-word
+     *    characters at either end, empty and null words
+     *  - one large list of thousands of words, reused across corpora
+     *  - a long list of mostly non-ASCII words
+     *  - transitions all from the table for ASCII, or all from trie edges
+     *    and failure links (no table)
+     */
+
+    private static final Instant d1 = Instant.parse("2016-02-17T10:00:00Z");
+
+    private static final String[] PIECES = {
+        "riv", "est", "Rivest", "a", "B", "ab", "_", "9", "é", "É", "́", "😀", "#", "@", "-", ".", " ", " "
+    };
+
+    @Test(expected = AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false;
+    }
+
+    @Test
+    public void testSimpleWords() {
+        List<Tweet> tweets = Arrays.asList(
+                new Tweet(1, "a", "is it reasonable to talk about RIVEST so much?", d1),
+                new Tweet(2, "b", "rivestian talks", d1),
+                new Tweet(3, "c", "x#hype y", d1));
+        KeywordMatcher matcher = new KeywordMatcher(Arrays.asList("rivest", "talk", "#hype"));
+
+        assertEquals(Arrays.asList(tweets.get(0), tweets.get(2)), Filter.containing(tweets, matcher));
+        assertFalse(new KeywordMatcher(new ArrayList<>()).matches("anything"));
+    }
+
+    @Test
+    public void testMatchesRegexOnRandomInput() {
+        Random random = new Random(6005);
+        List<Tweet> tweets = randomTweets(random, 400);
+        for (int q = 0; q < 1500; q++) {
+            List<String> words = new ArrayList<>();
+            int count = random.nextInt(5);
+            for (int w = 0; w < count; w++) {
+                words.add(random.nextInt(20) == 0 ? (random.nextBoolean() ? "" : null) : randomText(random, 1 + random.nextInt(3)));
+            }
+            assertEquals(words.toString(), Filter.containing(tweets, words),
+                         Filter.containing(tweets, new KeywordMatcher(words)));
+            assertEquals("no table " + words, Filter.containing(tweets, words),
+                         Filter.containing(tweets, new KeywordMatcher(words, 0)));
+        }
+    }
+
+    @Test
+    public void testLargeWordListReused() {
+        Random random = new Random(6005);
+        List<String> words = new ArrayList<>();
+        for (int w = 0; w < 3000; w++) {
+            words.add(randomText(random, 1 + random.nextInt(4)));
+        }
+        KeywordMatcher matcher = new KeywordMatcher(words);
+        for (int corpus = 0; corpus < 3; corpus++) {
+            List<Tweet> tweets = randomTweets(random, 300);
+            assertEquals(Filter.containing(tweets, words), Filter.containing(tweets, matcher));
+        }
+    }
+
+    @Test
+    public void testLongNonAsciiWordList() {
+        Random random = new Random(6005);
+        List<String> words = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        for (int w = 0; w < 20000; w++) {
+            StringBuilder word = new StringBuilder();
+            for (int c = 1 + random.nextInt(4); c > 0; c--) {
+                // CJK ideographs are letters, and word characters before JDK 19
+                word.append(random.nextInt(8) == 0 ? 'a' : (char) (0x4e00 + random.nextInt(3000)));
+            }
+            words.add(word.toString());
+            if (w % 40 == 0) {
+                text.append(word).append(random.nextBoolean() ? " " : "x");
+            }
+        }
+        List<Tweet> tweets = new ArrayList<>(randomTweets(random, 200));
+        for (String piece : text.toString().split("(?<=\\G.{12})")) {
+            tweets.add(new Tweet(tweets.size(), "u", piece, d1));
+        }
+        KeywordMatcher matcher = new KeywordMatcher(words);
+        assertEquals(Filter.containing(tweets, words), Filter.containing(tweets, matcher));
+        assertEquals(Filter.containing(tweets, words), Filter.containing(tweets, new KeywordMatcher(words, 0)));
+    }
+
+    private static List<Tweet> randomTweets(Random random, int count) {
+        List<Tweet> tweets = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tweets.add(new Tweet(i, "u", randomText(random, random.nextInt(12)), d1));
+        }
+        return tweets;
+    }
+
+    private static String randomText(Random random, int pieces) {
+        StringBuilder text = new StringBuilder();
+        for (int p = 0; p < pieces; p++) {
+            text.append(PIECES[random.nextInt(PIECES.length)]);
+        }
+        return text.toString();
+    }
+}
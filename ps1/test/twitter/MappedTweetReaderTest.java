@@ -0,0 +1,98 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.json.JsonException;
+
+import org.junit.Test;
+
+public class MappedTweetReaderTest {
+
+    /*
+     * Testing strategy:
+     *
+     * partition input by:
+     *  - empty file, blank lines, final line with or without trailing newline
+     *  - text with escapes and multi-byte UTF-8 (including surrogate pairs)
+     *  - author flat or nested, id as number or string
+     *  - file fits in one mapping window, or spans several (records straddle windows)
+     *  - malformed line, id that is not an integer (as a string or a number)
+     */
+
+    private static final String LINE1 = "{\"id\":1,\"user.screen_name\":\"alyssa\","
+            + "\"text\":\"café \\\"quoted\\\" \\u0041 😀\",\"created_at\":\"Wed Feb 17 10:00:00 +0000 2016\"}";
+    private static final String LINE2 = "{\"created_at\":\"Wed Feb 17 11:00:00 +0000 2016\",\"extra\":[{\"a\":\"}\"}],"
+            + "\"user\":{\"screen_name\":\"bbitdiddle\",\"verified\":true},\"text\":\"hi\",\"id\":\"2\"}";
+
+    @Test(expected = AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false;
+    }
+
+    @Test
+    public void testEmptyFile() throws IOException {
+        assertTrue("expected no tweets", MappedTweetReader.readTweets(write("")).isEmpty());
+    }
+
+    @Test
+    public void testDecodesFields() throws IOException {
+        List<Tweet> tweets = MappedTweetReader.readTweets(write(LINE1 + "\n\n" + LINE2));
+
+        assertEquals(2, tweets.size());
+        assertEquals(1, tweets.get(0).getId());
+        assertEquals("alyssa", tweets.get(0).getAuthor());
+        assertEquals("café \"quoted\" A 😀", tweets.get(0).getText());
+        assertEquals(Instant.parse("2016-02-17T10:00:00Z"), tweets.get(0).getTimestamp());
+        assertEquals(2, tweets.get(1).getId());
+        assertEquals("bbitdiddle", tweets.get(1).getAuthor());
+        assertEquals("hi", tweets.get(1).getText());
+    }
+
+    @Test
+    public void testRecordsStraddleWindows() throws IOException {
+        StringBuilder file = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            file.append(i % 2 == 0 ? LINE1 : LINE2).append("\r\n");
+        }
+        List<Tweet> tweets = new ArrayList<>();
+        MappedTweetReader.readTweets(write(file.toString()), tweets::add, LINE1.length() + 40);
+
+        assertEquals(20, tweets.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals("tweet " + i, i % 2 == 0 ? 1 : 2, tweets.get(i).getId());
+        }
+    }
+
+    @Test(expected = JsonException.class)
+    public void testMalformedLine() throws IOException {
+        MappedTweetReader.readTweets(write(LINE1 + "\n{\"id\":3,\n"));
+    }
+
+    @Test(expected = JsonException.class)
+    public void testNonNumericStringId() throws IOException {
+        MappedTweetReader.readTweets(write(LINE2.replace("\"id\":\"2\"", "\"id\":\"two\"")));
+    }
+
+    @Test(expected = JsonException.class)
+    public void testFractionalId() throws IOException {
+        MappedTweetReader.readTweets(write(LINE1.replace("\"id\":1,", "\"id\":1.5,")));
+    }
+
+    private static Path write(String content) throws IOException {
+        Path file = Files.createTempFile("tweets", ".ndjson");
+        file.toFile().deleteOnExit();
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
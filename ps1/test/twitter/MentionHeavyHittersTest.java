@@ -0,0 +1,118 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class MentionHeavyHittersTest {
+
+    /*
+     * Testing strategy:
+     *
+     * capacity: 1, > distinct users (exact), < distinct users (approximate), 0
+     * k: 0, < tracked, > tracked
+     * mentions: repeated in one tweet, differing case, email addresses
+     * ties in count: broken alphabetically
+     * approximate: every user above total / capacity is reported, and each
+     *   reported count brackets the true count within its error
+     * distinct users: many more than capacity, so evicted names are dropped
+     *   from the dictionary while tracked ones keep their counts
+     */
+
+    private static final Instant d1 = Instant.parse("2016-02-17T10:00:00Z");
+
+    @Test(expected = AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroCapacity() {
+        new MentionHeavyHitters(0);
+    }
+
+    @Test
+    public void testExactWhenUnderCapacity() {
+        MentionHeavyHitters hitters = new MentionHeavyHitters(10);
+        hitters.addAll(Arrays.asList(
+                new Tweet(1, "a", "@Alyssa @alyssa @ben_b bitdiddle@mit.edu", d1),
+                new Tweet(2, "b", "@carl @ALYSSA @Ben_B", d1)));
+
+        assertEquals(6, hitters.total());
+        assertEquals(0, hitters.maxError());
+        List<MentionHeavyHitters.HeavyHitter> top = hitters.top(5);
+        assertEquals(3, top.size());
+        assertEquals("alyssa", top.get(0).getUsername());
+        assertEquals(3, top.get(0).getCount());
+        assertEquals(0, top.get(0).getError());
+        assertEquals("ben_b", top.get(1).getUsername());
+        assertEquals("carl", top.get(2).getUsername());
+        assertEquals(1, hitters.top(1).size());
+        assertTrue(hitters.top(0).isEmpty());
+    }
+
+    @Test
+    public void testCapacityOne() {
+        MentionHeavyHitters hitters = new MentionHeavyHitters(1);
+        hitters.addMention("a");
+        hitters.addMention("b");
+        hitters.addMention("c");
+        MentionHeavyHitters.HeavyHitter only = hitters.top(1).get(0);
+        assertEquals("c", only.getUsername());
+        assertEquals(3, only.getCount());
+        assertEquals(2, only.getError());
+    }
+
+    @Test
+    public void testSkewedStreamGuarantees() {
+        Random random = new Random(6005);
+        int capacity = 50;
+        MentionHeavyHitters hitters = new MentionHeavyHitters(capacity);
+        Map<String, Long> exact = new HashMap<>();
+        for (int i = 0; i < 100000; i++) {
+            // roughly Zipfian over 5000 users
+            String name = "user" + (int) Math.floor(Math.pow(5000, random.nextDouble()));
+            exact.merge(name, 1L, Long::sum);
+            hitters.addMention(random.nextBoolean() ? name : name.toUpperCase());
+        }
+        long n = hitters.total();
+        assertTrue(hitters.maxError() <= n / capacity);
+
+        List<MentionHeavyHitters.HeavyHitter> top = hitters.top(capacity);
+        for (MentionHeavyHitters.HeavyHitter h : top) {
+            long actual = exact.get(h.getUsername());
+            assertTrue(h.toString(), h.getCount() >= actual);
+            assertTrue(h.toString(), h.getCount() - h.getError() <= actual);
+        }
+        for (Map.Entry<String, Long> e : exact.entrySet()) {
+            if (e.getValue() > n / capacity) {
+                assertTrue(e.getKey(), top.stream().anyMatch(h -> h.getUsername().equals(e.getKey())));
+            }
+        }
+        assertEquals("user1", top.get(0).getUsername());
+    }
+
+    @Test
+    public void testManyDistinctUsers() {
+        MentionHeavyHitters hitters = new MentionHeavyHitters(2);
+        for (int i = 0; i < 20000; i++) {
+            hitters.add(new Tweet(i, "a", "@Alyssa @alyssa @once" + i, d1));
+        }
+        assertEquals(60000, hitters.total());
+        MentionHeavyHitters.HeavyHitter top = hitters.top(1).get(0);
+        assertEquals("alyssa", top.getUsername());
+        assertEquals(40000, top.getCount());
+        assertEquals(0, top.getError());
+        assertEquals("once19999", hitters.top(2).get(1).getUsername());
+    }
+}
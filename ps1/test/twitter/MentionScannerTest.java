@@ -0,0 +1,75 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+public class MentionScannerTest {
+
+    /*
+     * Testing strategy:
+     *
+     * differential: the scanner must report the same mentions, at the same
+     * offsets, as the regex (?<![A-Za-z0-9_])@([A-Za-z0-9_]+) on random texts
+     * mixing '@', username characters, '-', '.', non-ASCII letters and spaces;
+     * covering "@" at start and end, "@@x", "a@b", "@a@b", and lone "@".
+     * forEachMentionId: same username in different cases gets one id.
+     */
+
+    private static final Pattern MENTION = Pattern.compile("(?<![A-Za-z0-9_])@([A-Za-z0-9_]+)");
+    private static final String ALPHABET = "@@@aZ9_-. é";
+
+    @Test(expected = AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false;
+    }
+
+    @Test
+    public void testMatchesRegex() {
+        Random random = new Random(6005);
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder text = new StringBuilder();
+            int length = random.nextInt(12);
+            for (int c = 0; c < length; c++) {
+                text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            assertEquals(text.toString(), regexMentions(text.toString()), scannedMentions(text.toString()));
+        }
+    }
+
+    @Test
+    public void testMentionIds() {
+        UsernameDictionary users = new UsernameDictionary();
+        List<Integer> ids = new ArrayList<>();
+        MentionScanner.forEachMentionId("@Bob, bob@mit.edu @BOB @alice", users, ids::add);
+
+        assertEquals(3, ids.size());
+        assertEquals(ids.get(0), ids.get(1));
+        assertEquals("bob", users.name(ids.get(0)));
+        assertEquals("alice", users.name(ids.get(2)));
+    }
+
+    private static List<String> regexMentions(String text) {
+        List<String> found = new ArrayList<>();
+        Matcher m = MENTION.matcher(text);
+        while (m.find()) {
+            found.add(m.start(1) + ":" + m.end(1));
+        }
+        return found;
+    }
+
+    private static List<String> scannedMentions(String text) {
+        List<String> found = new ArrayList<>();
+        MentionScanner.forEachMention(text, (start, end) -> found.add(start + ":" + end));
+        return found;
+    }
+}
@@ -0,0 +1,92 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+public class ParallelScanTest {
+
+    /*
+     * Testing strategy:
+     *
+     * reduce: list size <= threshold (sequential), > threshold; list is
+     *         RandomAccess, is not; merge order is left to right
+     * parallel Extract, Filter and SocialNetwork overloads: result equals the sequential
+     *         method's, on a list much larger than SEQUENTIAL_THRESHOLD, and on
+     *         a small list; pool parallelism 1, > 1; containing with
+     *         non-ASCII and non-token words
+     */
+
+    private static final Instant d1 = Instant.parse("2016-02-17T10:00:00Z");
+
+    @Test(expected = AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false;
+    }
+
+    @Test
+    public void testReduceKeepsOrder() {
+        List<Tweet> tweets = randomTweets(new Random(1), 10000);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<Tweet> copy = ParallelScan.reduce(tweets, pool, 100, ArrayList::new, ParallelScan::concat);
+            assertEquals(tweets, copy);
+            List<Tweet> linked = new LinkedList<>(tweets);
+            assertEquals(tweets, ParallelScan.reduce(linked, pool, 100, ArrayList::new, ParallelScan::concat));
+            List<Tweet> small = tweets.subList(0, 50);
+            assertEquals(small, ParallelScan.reduce(small, pool, 100, ArrayList::new, ParallelScan::concat));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelMatchesSequential() {
+        for (int parallelism : new int[] { 1, 3 }) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                for (int size : new int[] { 5, 4 * ParallelScan.SEQUENTIAL_THRESHOLD + 17 }) {
+                    List<Tweet> tweets = randomTweets(new Random(size), size);
+                    Timespan span = new Timespan(d1.plusSeconds(1000), d1.plusSeconds(5000));
+                    List<String> words = Arrays.asList("talk", "RIVEST", "café", "x@mit");
+
+                    Timespan expected = Extract.getTimespan(tweets);
+                    Timespan actual = Extract.getTimespan(tweets, pool);
+                    assertEquals(expected.getStart(), actual.getStart());
+                    assertEquals(expected.getEnd(), actual.getEnd());
+                    assertEquals(Extract.getMentionedUsers(tweets), Extract.getMentionedUsers(tweets, pool));
+                    assertEquals(Filter.writtenBy(tweets, "ALYSSA"), Filter.writtenBy(tweets, "ALYSSA", pool));
+                    assertEquals(Filter.inTimespan(tweets, span), Filter.inTimespan(tweets, span, pool));
+                    assertEquals(Filter.containing(tweets, words), Filter.containing(tweets, words, pool));
+                    assertEquals(SocialNetwork.guessFollowsGraph(tweets), SocialNetwork.guessFollowsGraph(tweets, pool));
+                }
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    private static List<Tweet> randomTweets(Random random, int count) {
+        String[] authors = { "alyssa", "Alyssa", "bbitdiddle", "ben_b" };
+        String[] texts = { "is it reasonable to talk about rivest so much?", "@Alyssa hi @ben_b", "@BBITDIDDLE @u1 @u2",
+                           "rivest talk in 30 minutes #hype", "nothing here", "mail me at x@mit.edu",
+                           "cafés, Café and naïve_café" };
+        List<Tweet> tweets = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tweets.add(new Tweet(i, authors[random.nextInt(authors.length)], texts[random.nextInt(texts.length)],
+                                 d1.plusSeconds(random.nextInt(10000))));
+        }
+        return tweets;
+    }
+}
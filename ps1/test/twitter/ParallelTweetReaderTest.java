@@ -0,0 +1,95 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.json.JsonException;
+
+import org.junit.Test;
+
+public class ParallelTweetReaderTest {
+
+    /*
+     * Testing strategy:
+     *
+     * partition input by:
+     *  - layout: newline-delimited file, newline-delimited buffer, JSON array buffer
+     *  - size: empty, smaller than one chunk, many chunks
+     *  - order preservation on or off
+     *  - malformed array
+     */
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    @Test(expected = AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false;
+    }
+
+    @Test
+    public void testEmptyInputs() {
+        assertTrue(ParallelTweetReader.readTweets(buffer(""), POOL, true).isEmpty());
+        assertTrue(ParallelTweetReader.readTweets(buffer(" [ ] "), POOL, true).isEmpty());
+    }
+
+    @Test
+    public void testFileMatchesSequentialReader() throws IOException {
+        Path file = Files.createTempFile("tweets", ".ndjson");
+        file.toFile().deleteOnExit();
+        Files.write(file, lines(20000, "\n").getBytes(StandardCharsets.UTF_8));
+
+        List<Tweet> expected = MappedTweetReader.readTweets(file);
+        List<Tweet> ordered = ParallelTweetReader.readTweets(file, POOL, true);
+        List<Tweet> unordered = ParallelTweetReader.readTweets(file, POOL, false);
+
+        assertEquals("ordered result matches sequential", expected, ordered);
+        assertEquals(expected.size(), unordered.size());
+        assertEquals("unordered result has the same tweets", new HashSet<>(expected), new HashSet<>(unordered));
+    }
+
+    @Test
+    public void testArrayBuffer() {
+        List<Tweet> fromArray = ParallelTweetReader.readTweets(buffer("[" + lines(5000, ",\n") + "]"), POOL, true);
+        List<Tweet> fromLines = ParallelTweetReader.readTweets(buffer(lines(5000, "\n")), POOL, true);
+
+        assertEquals(5000, fromArray.size());
+        assertEquals(fromLines, fromArray);
+        for (int i = 0; i < fromArray.size(); i++) {
+            assertEquals("text of tweet " + i, fromLines.get(i).getText(), fromArray.get(i).getText());
+        }
+    }
+
+    @Test(expected = JsonException.class)
+    public void testMissingArrayElement() {
+        ParallelTweetReader.readTweets(buffer("[" + lines(2, ",") + ",]"), POOL, true);
+    }
+
+    private static String lines(int count, String separator) {
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                out.append(separator);
+            }
+            out.append("{\"id\":").append(i)
+               .append(",\"user\":{\"screen_name\":\"user").append(i % 97)
+               .append("\"},\"text\":\"tweet [").append(i).append("] {\\\"x\\\"}, @user").append(i % 13)
+               .append("\",\"created_at\":\"Wed Feb 17 10:00:00 +0000 2016\"}");
+        }
+        return out.toString();
+    }
+
+    private static ByteBuffer buffer(String content) {
+        return ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
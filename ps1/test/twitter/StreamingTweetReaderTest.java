@@ -0,0 +1,101 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.io.StringReader;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.json.JsonException;
+
+import org.junit.Test;
+
+public class StreamingTweetReaderTest {
+
+    /*
+     * Testing strategy:
+     *
+     * partition input by:
+     *  - empty array, one tweet, several tweets
+     *  - author as flat "user.screen_name" key, or nested user object
+     *  - extra fields: scalars, nested objects and arrays (must be skipped)
+     *  - malformed: not an array, tweet missing a field, id not a 64-bit
+     *    integer (string, fraction)
+     */
+
+    private static final Instant d1 = Instant.parse("2016-02-17T10:00:00Z");
+    private static final Instant d2 = Instant.parse("2016-02-17T11:30:05Z");
+
+    @Test(expected = AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false;
+    }
+
+    @Test
+    public void testEmptyArray() {
+        Iterator<Tweet> tweets = StreamingTweetReader.iterateTweets(new StringReader(" [ ] "));
+        assertFalse("expected no tweets", tweets.hasNext());
+    }
+
+    @Test
+    public void testFlatAndNestedAuthor() {
+        String json = "[{\"id\":1,\"user.screen_name\":\"alyssa\",\"text\":\"hi @bob\","
+                + "\"created_at\":\"Wed Feb 17 10:00:00 +0000 2016\"},"
+                + "{\"created_at\":\"Wed Feb 17 12:30:05 +0100 2016\",\"text\":\"yo\","
+                + "\"user\":{\"id\":9,\"screen_name\":\"BBitdiddle\"},\"id\":\"2\"}]";
+        List<Tweet> tweets = new ArrayList<>();
+        StreamingTweetReader.readTweets(new StringReader(json), tweets::add);
+
+        assertEquals("expected two tweets", 2, tweets.size());
+        assertEquals(1, tweets.get(0).getId());
+        assertEquals("alyssa", tweets.get(0).getAuthor());
+        assertEquals("hi @bob", tweets.get(0).getText());
+        assertEquals(d1, tweets.get(0).getTimestamp());
+        assertEquals(2, tweets.get(1).getId());
+        assertEquals("BBitdiddle", tweets.get(1).getAuthor());
+        assertEquals("offset applied", d2, tweets.get(1).getTimestamp());
+    }
+
+    @Test
+    public void testSkipsUnusedFields() {
+        String json = "[{\"entities\":{\"text\":\"nested\",\"urls\":[{\"id\":5},[1,2]]},"
+                + "\"id\":3,\"retweeted\":false,\"geo\":null,\"text\":\"top\","
+                + "\"user.screen_name\":\"x\",\"created_at\":\"Wed Feb 17 10:00:00 +0000 2016\"}]";
+        List<Tweet> tweets = new ArrayList<>();
+        StreamingTweetReader.readTweets(new StringReader(json), tweets::add);
+
+        assertEquals(1, tweets.size());
+        assertEquals(3, tweets.get(0).getId());
+        assertEquals("nested text ignored", "top", tweets.get(0).getText());
+    }
+
+    @Test(expected = JsonException.class)
+    public void testNotAnArray() {
+        StreamingTweetReader.iterateTweets(new StringReader("{\"id\":1}")).hasNext();
+    }
+
+    @Test(expected = JsonException.class)
+    public void testMissingField() {
+        String json = "[{\"id\":1,\"text\":\"no author\",\"created_at\":\"Wed Feb 17 10:00:00 +0000 2016\"}]";
+        StreamingTweetReader.iterateTweets(new StringReader(json)).next();
+    }
+
+    @Test
+    public void testBadId() {
+        for (String id : new String[] { "\"abc\"", "1.5", "9223372036854775808" }) {
+            String json = "[{\"id\":" + id + ",\"text\":\"hi\",\"created_at\":\"Wed Feb 17 10:00:00 +0000 2016\","
+                    + "\"user\":{\"screen_name\":\"alyssa\"}}]";
+            try {
+                StreamingTweetReader.iterateTweets(new StringReader(json)).next();
+                fail("expected JsonException for id " + id);
+            } catch (JsonException expected) {
+                // same failure as MappedTweetReader gives
+            }
+        }
+    }
+}
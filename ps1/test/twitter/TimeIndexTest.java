@@ -0,0 +1,77 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class TimeIndexTest {
+
+    /*
+     * Testing strategy:
+     *
+     * partition TimeIndex by:
+     *  - empty, one tweet, many tweets with duplicate timestamps, out of order
+     *  - timespan before, after, around all tweets; endpoints on tweet times
+     *    (inclusive) and between them; sub-second endpoints
+     *  - results in input order or in time order
+     */
+
+    private static final Instant base = Instant.parse("2016-02-17T10:00:00Z");
+
+    @Test(expected = AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyTimespan() {
+        TimeIndex index = new TimeIndex(new ArrayList<>());
+        assertEquals(0, index.count(new Timespan(base, base)));
+        index.getTimespan();
+    }
+
+    @Test
+    public void testMatchesFilterOnRandomCorpus() {
+        Random random = new Random(6005);
+        List<Tweet> tweets = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            tweets.add(new Tweet(i, "u" + i, "t", base.plusSeconds(random.nextInt(500)).plusMillis(random.nextInt(2) * 500)));
+        }
+        TimeIndex index = new TimeIndex(tweets);
+
+        assertEquals(Extract.getTimespan(tweets), Extract.getTimespan(index));
+        for (int q = 0; q < 300; q++) {
+            Instant a = base.plusSeconds(random.nextInt(520) - 10).plusMillis(random.nextInt(4) * 250);
+            Instant b = a.plusSeconds(random.nextInt(100));
+            Timespan span = new Timespan(a, b);
+            List<Tweet> expected = Filter.inTimespan(tweets, span);
+
+            assertEquals(span.toString(), expected, Filter.inTimespan(index, span));
+            assertEquals(expected.size(), index.count(span));
+
+            List<Tweet> byTime = index.inTimespanByTime(span);
+            List<Tweet> sorted = new ArrayList<>(expected);
+            Collections.sort(sorted, (t1, t2) -> t1.getTimestamp().compareTo(t2.getTimestamp()));
+            assertEquals("time order, ties in input order", sorted, byTime);
+        }
+    }
+
+    @Test
+    public void testIndexUnaffectedByLaterChanges() {
+        List<Tweet> tweets = new ArrayList<>();
+        tweets.add(new Tweet(1, "a", "x", base));
+        TimeIndex index = new TimeIndex(tweets);
+        tweets.add(new Tweet(2, "b", "y", base.plusSeconds(60)));
+
+        assertEquals(new Timespan(base, base), index.getTimespan());
+    }
+}
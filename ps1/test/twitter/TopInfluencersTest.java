@@ -0,0 +1,88 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class TopInfluencersTest {
+
+    /*
+     * Testing strategy for SocialNetwork.topInfluencers and
+     * CorpusSummary.getTopInfluencers:
+     *
+     * k: 0, 1, < users, == users, > users; negative
+     * graph: null, empty, ties in follower count, users only as followees,
+     *   one user spelled in two cases (counted separately, as influencers does),
+     *   null followee sets
+     * representation: Map, CSR, CorpusSummary
+     * result equals the prefix of the full sort, on random graphs
+     */
+
+    private static final Instant d1 = Instant.parse("2016-02-17T10:00:00Z");
+
+    @Test(expected = AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeK() {
+        SocialNetwork.topInfluencers(new HashMap<>(), -1);
+    }
+
+    @Test
+    public void testSmallGraphs() {
+        assertTrue(SocialNetwork.topInfluencers((Map<String, Set<String>>) null, 3).isEmpty());
+        Map<String, Set<String>> graph = new HashMap<>();
+        assertTrue(SocialNetwork.topInfluencers(graph, 3).isEmpty());
+
+        graph.put("a", new HashSet<>(Arrays.asList("c", "b")));
+        graph.put("d", new HashSet<>(Arrays.asList("b", "c", "e")));
+        graph.put("f", null);
+        assertEquals(Arrays.asList("b", "c", "e", "a", "d", "f"), SocialNetwork.topInfluencers(graph, 10));
+        assertEquals(Arrays.asList("b"), SocialNetwork.topInfluencers(graph, 1));
+        assertTrue(SocialNetwork.topInfluencers(graph, 0).isEmpty());
+
+        Map<String, Set<String>> mixedCase = new HashMap<>();
+        mixedCase.put("A", new HashSet<>(Arrays.asList("b")));
+        mixedCase.put("a", new HashSet<>(Arrays.asList("B", "c")));
+        List<String> all = SocialNetwork.influencers(mixedCase);
+        assertEquals(all.subList(0, 3), SocialNetwork.topInfluencers(mixedCase, 3));
+    }
+
+    @Test
+    public void testMatchesFullSort() {
+        Random random = new Random(6005);
+        for (int round = 0; round < 30; round++) {
+            List<Tweet> tweets = new ArrayList<>();
+            for (int i = 0; i < 300; i++) {
+                String text = "@u" + random.nextInt(50) + " @u" + random.nextInt(20) + " @u" + random.nextInt(5);
+                tweets.add(new Tweet(i, "u" + random.nextInt(60), text, d1));
+            }
+            Map<String, Set<String>> graph = SocialNetwork.guessFollowsGraph(tweets);
+            List<String> all = SocialNetwork.influencers(graph);
+            CsrFollowsGraph csr = CsrFollowsGraph.fromTweets(tweets);
+            CorpusSummary summary = CorpusSummary.analyze(tweets);
+            for (int k : new int[] { 1, 7, all.size(), all.size() + 5 }) {
+                List<String> expected = all.subList(0, Math.min(k, all.size()));
+                assertEquals(expected, SocialNetwork.topInfluencers(graph, k));
+                assertEquals(expected, SocialNetwork.topInfluencers(csr, k));
+                assertEquals(expected, summary.getTopInfluencers(k));
+            }
+            assertEquals(all, summary.getInfluencers());
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+import org.junit.Test;
+
+public class TweetQueryTest {
+
+    /*
+     * Testing strategy:
+     *
+     * query: each leaf (writtenBy, inTimespan, containing), and, or, not,
+     *        nested combinations
+     * evaluation: one pass over a list; planned over TweetIndexes with all
+     *        indexes, with some left out, with none
+     * plan: a selective leaf inside an and, an or of indexed leaves, a not
+     *        (scan), words that are not a single token (scan)
+     * results equal the equivalent chain of Filter calls, on random corpora
+     */
+
+    private static final Instant d1 = Instant.parse("2016-02-17T10:00:00Z");
+    private static final String[] AUTHORS = { "alyssa", "Alyssa", "bbitdiddle", "ben_b", "carl" };
+    private static final String[] WORDS = { "rivest", "talk", "Hype", "#hype", "a b", "mit", "zzz" };
+    private static final String[] TEXTS = {
+        "is it reasonable to talk about rivest so much?", "rivest talk in 30 minutes #hype",
+        "MIT a b c", "nothing here", "Talk talk TALK", "hype #hype"
+    };
+
+    @Test(expected = AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false;
+    }
+
+    @Test
+    public void testChainedConditions() {
+        List<Tweet> tweets = randomTweets(new Random(1), 200);
+        Timespan span = new Timespan(d1.plusSeconds(100), d1.plusSeconds(600));
+        List<String> words = Arrays.asList("talk");
+        TweetQuery query = TweetQuery.writtenBy("ALYSSA").and(TweetQuery.inTimespan(span))
+                                     .and(TweetQuery.containing(words));
+        List<Tweet> expected = Filter.containing(Filter.inTimespan(Filter.writtenBy(tweets, "ALYSSA"), span), words);
+
+        assertEquals(expected, Filter.matching(tweets, query));
+        assertEquals(expected, Filter.matching(new TweetIndexes(tweets), query));
+        assertEquals(expected, Filter.matching(new TweetIndexes(tweets, false, true, false), query));
+        assertEquals(expected, Filter.matching(new TweetIndexes(tweets, false, false, false), query));
+    }
+
+    @Test
+    public void testNotAndOr() {
+        List<Tweet> tweets = Arrays.asList(
+                new Tweet(1, "alyssa", "talk", d1),
+                new Tweet(2, "carl", "rivest", d1),
+                new Tweet(3, "ALYSSA", "nothing", d1));
+        TweetQuery query = TweetQuery.writtenBy("alyssa").not()
+                .or(TweetQuery.containing(Arrays.asList("nothing")));
+        assertEquals(Arrays.asList(tweets.get(1), tweets.get(2)), query.filter(new TweetIndexes(tweets)));
+        assertEquals(Collections.emptyList(),
+                     TweetQuery.writtenBy("nobody").and(query).filter(new TweetIndexes(tweets)));
+    }
+
+    @Test
+    public void testRandomQueriesMatchFilterChains() {
+        Random random = new Random(6005);
+        for (int corpus = 0; corpus < 5; corpus++) {
+            List<Tweet> tweets = randomTweets(random, 300);
+            List<TweetIndexes> indexes = Arrays.asList(
+                    new TweetIndexes(tweets),
+                    new TweetIndexes(tweets, random.nextBoolean(), random.nextBoolean(), random.nextBoolean()));
+            for (int q = 0; q < 200; q++) {
+                Object[] pair = randomQuery(random, 3);
+                TweetQuery query = (TweetQuery) pair[0];
+                @SuppressWarnings("unchecked")
+                List<Tweet> expected = ((UnaryOperator<List<Tweet>>) pair[1]).apply(tweets);
+                assertEquals(expected, query.filter(tweets));
+                for (TweetIndexes index : indexes) {
+                    assertEquals(expected, query.filter(index));
+                }
+            }
+        }
+    }
+
+    /*
+     * @return a random query and a function that evaluates the same query by
+     *         chaining Filter calls
+     */
+    private static Object[] randomQuery(Random random, int depth) {
+        int kind = random.nextInt(depth <= 0 ? 3 : 6);
+        switch (kind) {
+        case 0: {
+            String author = AUTHORS[random.nextInt(AUTHORS.length)].toUpperCase();
+            return pair(TweetQuery.writtenBy(author), tweets -> Filter.writtenBy(tweets, author));
+        }
+        case 1: {
+            Instant start = d1.plusSeconds(random.nextInt(1000));
+            Timespan span = new Timespan(start, start.plusSeconds(random.nextInt(500)));
+            return pair(TweetQuery.inTimespan(span), tweets -> Filter.inTimespan(tweets, span));
+        }
+        case 2: {
+            List<String> words = new ArrayList<>();
+            for (int w = random.nextInt(3); w >= 0; w--) {
+                words.add(WORDS[random.nextInt(WORDS.length)]);
+            }
+            return pair(TweetQuery.containing(words), tweets -> Filter.containing(tweets, words));
+        }
+        default: {
+            Object[] left = randomQuery(random, depth - 1);
+            @SuppressWarnings("unchecked")
+            UnaryOperator<List<Tweet>> l = (UnaryOperator<List<Tweet>>) left[1];
+            if (kind == 5) {
+                return pair(((TweetQuery) left[0]).not(), tweets -> minus(tweets, l.apply(tweets)));
+            }
+            Object[] right = randomQuery(random, depth - 1);
+            @SuppressWarnings("unchecked")
+            UnaryOperator<List<Tweet>> r = (UnaryOperator<List<Tweet>>) right[1];
+            if (kind == 3) {
+                return pair(((TweetQuery) left[0]).and((TweetQuery) right[0]), tweets -> r.apply(l.apply(tweets)));
+            }
+            return pair(((TweetQuery) left[0]).or((TweetQuery) right[0]),
+                        tweets -> minus(tweets, minus(minus(tweets, l.apply(tweets)), r.apply(tweets))));
+        }
+        }
+    }
+
+    private static Object[] pair(TweetQuery query, UnaryOperator<List<Tweet>> reference) {
+        return new Object[] { query, reference };
+    }
+
+    /*
+     * @return the tweets of all that are not in some, in the order of all
+     */
+    private static List<Tweet> minus(List<Tweet> all, List<Tweet> some) {
+        Set<Tweet> excluded = Collections.newSetFromMap(new IdentityHashMap<>());
+        excluded.addAll(some);
+        List<Tweet> result = new ArrayList<>();
+        for (Tweet t : all) {
+            if (!excluded.contains(t)) {
+                result.add(t);
+            }
+        }
+        return result;
+    }
+
+    private static List<Tweet> randomTweets(Random random, int count) {
+        List<Tweet> tweets = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tweets.add(new Tweet(i, AUTHORS[random.nextInt(AUTHORS.length)], TEXTS[random.nextInt(TEXTS.length)],
+                                 d1.plusSeconds(random.nextInt(1500))));
+        }
+        return tweets;
+    }
+}
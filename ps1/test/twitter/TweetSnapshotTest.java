@@ -0,0 +1,108 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class TweetSnapshotTest {
+
+    /*
+     * Testing strategy:
+     *
+     * partition write/open by:
+     *  - no tweets, one tweet, many tweets sharing authors
+     *  - ASCII text, multi-byte and supplementary characters, empty text
+     *  - timestamps with and without fractional seconds
+     *  - file intact, corrupted body, truncated (inside the author dictionary
+     *    or the texts), not a snapshot
+     */
+
+    private static final Instant d1 = Instant.parse("2016-02-17T10:00:00Z");
+    private static final Instant d2 = Instant.parse("2016-02-17T11:00:00.250Z");
+
+    @Test(expected = AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false;
+    }
+
+    @Test
+    public void testEmpty() throws IOException {
+        Path file = tempFile();
+        TweetSnapshot.write(new ArrayList<>(), file);
+        assertTrue(TweetSnapshot.open(file).isEmpty());
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        List<Tweet> tweets = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            String text = i % 3 == 0 ? "" : "tweet " + i + " é 😀 @user" + (i % 7);
+            tweets.add(new Tweet(1000000000000L + i, i % 2 == 0 ? "Alyssa" : "alyssa", text, i % 2 == 0 ? d1 : d2));
+        }
+        Path file = tempFile();
+        TweetSnapshot.write(tweets, file);
+        TweetSnapshot snapshot = TweetSnapshot.open(file);
+
+        assertEquals(tweets.size(), snapshot.size());
+        for (int i = 0; i < tweets.size(); i++) {
+            Tweet expected = tweets.get(i);
+            Tweet actual = snapshot.get(i);
+            assertEquals("id " + i, expected.getId(), actual.getId());
+            assertEquals("author spelling kept " + i, expected.getAuthor(), actual.getAuthor());
+            assertEquals("text " + i, expected.getText(), actual.getText());
+            assertEquals("timestamp " + i, expected.getTimestamp(), actual.getTimestamp());
+        }
+        assertEquals(Extract.getTimespan(tweets), Extract.getTimespan(snapshot));
+    }
+
+    @Test(expected = IOException.class)
+    public void testCorruptedBody() throws IOException {
+        Path file = tempFile();
+        TweetSnapshot.write(Arrays.asList(new Tweet(1, "bob", "hello", d1)), file);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(file, bytes);
+        TweetSnapshot.open(file);
+    }
+
+    @Test
+    public void testTruncated() throws IOException {
+        Path file = tempFile();
+        TweetSnapshot.write(Arrays.asList(new Tweet(1, "bob", "", d1)), file);
+        byte[] bytes = Files.readAllBytes(file);
+        // with an empty text, the last byte is the end of the author dictionary
+        for (int cut = 1; cut <= "bob".length(); cut++) {
+            Files.write(file, Arrays.copyOf(bytes, bytes.length - cut));
+            try {
+                TweetSnapshot.open(file);
+                fail("expected IOException for a file " + cut + " bytes short");
+            } catch (IOException e) {
+                assertTrue(e.getMessage(), e.getMessage().endsWith("is truncated"));
+            }
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testNotASnapshot() throws IOException {
+        Path file = tempFile();
+        Files.write(file, "[{\"id\":1}]                                 ".getBytes("UTF-8"));
+        TweetSnapshot.open(file);
+    }
+
+    private static Path tempFile() throws IOException {
+        Path file = Files.createTempFile("tweets", ".snapshot");
+        file.toFile().deleteOnExit();
+        return file;
+    }
+}
@@ -0,0 +1,57 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares a List<Tweet> with a TweetStore holding the same synthetic corpus:
+ * heap used by each, and the time of the scans both support. Not a test; run
+ * by hand with assertions enabled and a heap large enough for both:
+ *
+ *   java -ea -Xmx2g -cp ... twitter.TweetStoreBenchmark [tweets] [users]
+ */
+public class TweetStoreBenchmark {
+
+    public static void main(String[] args) {
+        int tweetCount = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        int userCount = args.length > 1 ? Integer.parseInt(args[1]) : 100000;
+
+        long base = Benchmarks.usedHeap();
+        List<Tweet> tweets = Arrays.asList(Benchmarks.corpus(tweetCount, userCount, new Random(6005))
+                                                                .toArray(new Tweet[0]));
+        long listBytes = Benchmarks.usedHeap() - base;
+        TweetStore store = new TweetStore(tweets);
+        long storeBytes = Benchmarks.usedHeap() - base - listBytes;
+        System.out.println(tweetCount + " tweets, " + userCount + " users");
+        System.out.printf("List<Tweet>     %8.1f MB  %6.1f bytes/tweet%n", listBytes / 1e6, (double) listBytes / tweetCount);
+        System.out.printf("TweetStore      %8.1f MB  %6.1f bytes/tweet%n", storeBytes / 1e6, (double) storeBytes / tweetCount);
+
+        String user = "USER42";
+        Instant start = tweets.get(tweetCount / 4).getTimestamp();
+        Timespan span = new Timespan(start, start.plusSeconds(tweetCount / 2));
+        if (!Filter.writtenBy(tweets, user).equals(store.get(Filter.writtenBy(store, user)))
+                || !Filter.inTimespan(tweets, span).equals(store.get(Filter.inTimespan(store, span)))
+                || !Extract.getTimespan(tweets).equals(Extract.getTimespan(store))) {
+            throw new AssertionError("store scan differs from list scan");
+        }
+        report("writtenBy", Benchmarks.time(() -> Filter.writtenBy(tweets, user)),
+                            Benchmarks.time(() -> Filter.writtenBy(store, user)));
+        report("inTimespan", Benchmarks.time(() -> Filter.inTimespan(tweets, span)),
+                             Benchmarks.time(() -> Filter.inTimespan(store, span)));
+        report("getTimespan", Benchmarks.time(() -> Extract.getTimespan(tweets)),
+                              Benchmarks.time(() -> Extract.getTimespan(store)));
+        // keep both alive until after the last measurement
+        if (tweets.size() != store.size()) {
+            throw new AssertionError();
+        }
+    }
+
+    private static void report(String scan, double list, double store) {
+        System.out.printf("%-12s list %8.1f ms  store %8.1f ms  speedup %.2f%n", scan, list, store, list / store);
+    }
+}
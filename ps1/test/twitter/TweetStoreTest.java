@@ -0,0 +1,109 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class TweetStoreTest {
+
+    /*
+     * Testing strategy:
+     *
+     * partition TweetStore by:
+     *  - authors with one spelling or several spellings of the same name
+     *  - text ASCII, multi-byte, empty
+     * check the column-scanning overloads against the List<Tweet> methods for:
+     *  - writtenBy: author present in several rows, in another case, absent
+     *  - inTimespan: nothing, some, everything inside; endpoints inclusive;
+     *    tweets and endpoints with sub-millisecond parts, within the same
+     *    millisecond
+     *  - getTimespan: one tweet, unordered tweets, sub-millisecond timestamps
+     */
+
+    private static final Instant d1 = Instant.parse("2016-02-17T10:00:00Z");
+    private static final Instant d2 = Instant.parse("2016-02-17T11:00:00Z");
+    private static final Instant d3 = Instant.parse("2016-02-17T12:00:00Z");
+
+    private static final List<Tweet> tweets = Arrays.asList(
+            new Tweet(1, "alyssa", "rivest talk é", d2),
+            new Tweet(2, "BBitdiddle", "", d1),
+            new Tweet(3, "Alyssa", "@bbitdiddle 😀", d3),
+            new Tweet(4, "bbitdiddle", "late", d3));
+
+    @Test(expected = AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false;
+    }
+
+    @Test
+    public void testRoundTrip() {
+        TweetStore store = new TweetStore(tweets);
+        assertEquals(tweets.size(), store.size());
+        for (int row = 0; row < tweets.size(); row++) {
+            Tweet t = store.get(row);
+            assertEquals(tweets.get(row).getId(), t.getId());
+            assertEquals("spelling kept", tweets.get(row).getAuthor(), t.getAuthor());
+            assertEquals(tweets.get(row).getText(), t.getText());
+            assertEquals(tweets.get(row).getTimestamp(), t.getTimestamp());
+        }
+        assertEquals(store.getAuthorId(0), store.getAuthorId(2));
+    }
+
+    @Test
+    public void testWrittenBy() {
+        TweetStore store = new TweetStore(tweets);
+        for (String user : Arrays.asList("ALYSSA", "bbitdiddle", "nobody")) {
+            assertEquals(user, Filter.writtenBy(tweets, user), store.get(Filter.writtenBy(store, user)));
+        }
+    }
+
+    @Test
+    public void testInTimespan() {
+        TweetStore store = new TweetStore(tweets);
+        List<Timespan> spans = new ArrayList<>(Arrays.asList(
+                new Timespan(d1, d1), new Timespan(d2, d3), new Timespan(d1, d3),
+                new Timespan(d3.plusSeconds(1), d3.plusSeconds(2)),
+                new Timespan(d1.plusNanos(1), d2.minusNanos(1)),
+                new Timespan(d1.minusNanos(1), d2.plusNanos(1))));
+        for (Timespan span : spans) {
+            assertEquals(span.toString(), Filter.inTimespan(tweets, span), store.get(Filter.inTimespan(store, span)));
+        }
+    }
+
+    @Test
+    public void testSubMillisecondTimestamps() {
+        List<Tweet> precise = Arrays.asList(
+                new Tweet(1, "a", "x", d1.plusNanos(500000)),
+                new Tweet(2, "b", "y", d1.plusNanos(999999)),
+                new Tweet(3, "c", "z", d1.plusNanos(1)),
+                new Tweet(4, "d", "w", d1));
+        TweetStore store = new TweetStore(precise);
+        for (int row = 0; row < precise.size(); row++) {
+            assertEquals(precise.get(row).getTimestamp(), store.getTimestamp(row));
+        }
+        // all four tweets are in the same millisecond, so only nanoseconds tell them apart
+        for (long start : new long[] { 0, 1, 2, 300000, 500000, 500001, 999999, 1000000 }) {
+            for (long length : new long[] { 0, 1, 499999, 500000, 1000000 }) {
+                Timespan span = new Timespan(d1.plusNanos(start), d1.plusNanos(start + length));
+                assertEquals(span.toString(), Filter.inTimespan(precise, span),
+                             store.get(Filter.inTimespan(store, span)));
+            }
+        }
+        assertEquals(Extract.getTimespan(precise), Extract.getTimespan(store));
+    }
+
+    @Test
+    public void testGetTimespan() {
+        assertEquals(Extract.getTimespan(tweets), Extract.getTimespan(new TweetStore(tweets)));
+        List<Tweet> one = tweets.subList(0, 1);
+        assertEquals(Extract.getTimespan(one), Extract.getTimespan(new TweetStore(one)));
+    }
+}
@@ -0,0 +1,101 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class UsernameDictionaryTest {
+
+    /*
+     * Testing strategy:
+     *
+     * partition intern/lookup by:
+     *  - new name, repeated name, same name in a different case
+     *  - whole string, or a range inside a longer text
+     *  - dictionary small, or grown past several rehashes
+     *
+     * check the id-based variants of Extract, Filter and SocialNetwork agree
+     * with the String-based methods they back.
+     */
+
+    private static final Instant d1 = Instant.parse("2016-02-17T10:00:00Z");
+
+    @Test(expected = AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false;
+    }
+
+    @Test
+    public void testInternIsCaseInsensitive() {
+        UsernameDictionary users = new UsernameDictionary();
+        int ernie = users.intern("ERNie");
+        int bert = users.intern("bert");
+
+        assertEquals("dense ids", 0, ernie);
+        assertEquals("dense ids", 1, bert);
+        assertEquals(ernie, users.intern("ernie"));
+        assertEquals(bert, users.lookup("BERT"));
+        assertEquals(-1, users.lookup("elmo"));
+        assertEquals("lowercase name", "ernie", users.name(ernie));
+        assertEquals(2, users.size());
+    }
+
+    @Test
+    public void testInternRange() {
+        UsernameDictionary users = new UsernameDictionary();
+        String text = "hi @Bert_99!";
+        int bert = users.intern(text, 4, 11);
+
+        assertEquals(bert, users.lookup("bert_99"));
+        assertEquals("bert_99", users.name(bert));
+    }
+
+    @Test
+    public void testManyNames() {
+        UsernameDictionary users = new UsernameDictionary();
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(i, users.intern("User" + i));
+        }
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(i, users.lookup("user" + i));
+        }
+        assertEquals(10000, users.size());
+    }
+
+    @Test
+    public void testIdVariantsAgree() {
+        List<Tweet> tweets = Arrays.asList(
+                new Tweet(1, "Alyssa", "@bert and @ERNIE, and @alyssa herself", d1),
+                new Tweet(2, "bert", "@Ernie @ernie", d1),
+                new Tweet(3, "alyssa", "no mentions", d1));
+        UsernameDictionary users = new UsernameDictionary();
+        int[] authors = users.internAuthors(tweets);
+
+        assertEquals(Filter.writtenBy(tweets, "ALYSSA"),
+                     Filter.writtenBy(tweets, authors, users.lookup("alyssa")));
+        assertEquals("list without random access", Filter.writtenBy(tweets, "bert"),
+                     Filter.writtenBy(new LinkedList<>(tweets), authors, users.lookup("BERT")));
+
+        BitSet mentioned = Extract.getMentionedUserIds(tweets, users);
+        assertEquals(3, mentioned.cardinality());
+        assertTrue(mentioned.get(users.lookup("ernie")));
+
+        int[][] follows = SocialNetwork.guessFollowsGraph(tweets, users);
+        int alyssa = users.lookup("alyssa");
+        int bert = users.lookup("bert");
+        int ernie = users.lookup("ernie");
+        int[] expected = bert < ernie ? new int[] { bert, ernie } : new int[] { ernie, bert };
+        assertArrayEquals("self-mention dropped", expected, follows[alyssa]);
+        assertArrayEquals("duplicates dropped", new int[] { ernie }, follows[bert]);
+        assertNull("not an author", follows[ernie]);
+    }
+}
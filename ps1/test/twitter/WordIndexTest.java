@@ -0,0 +1,102 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class WordIndexTest {
+
+    /*
+     * Testing strategy:
+     *
+     * differential: WordIndex.containing must equal Filter.containing on
+     *  - random texts mixing letters of both cases, digits, '_', punctuation,
+     *    non-ASCII letters, combining marks (after letters and after '_'),
+     *    supplementary characters and whitespace
+     *  - random query lists of 0 to 4 words: tokens from the corpus in another
+     *    case, absent words, empty and null words, and words that are not a
+     *    single token ("#hype", "a b", "x-y", a bare combining mark)
+     * plus hand-picked cases for whole-word matching and case-insensitivity.
+     */
+
+    private static final Instant d1 = Instant.parse("2016-02-17T10:00:00Z");
+
+    private static final String[] PIECES = {
+        "rivest", "Rivest", "RIVEST", "talk", "talks", "a", "b", "x", "y", "_", "9", "é", "É", "́",
+        "😀", "𝐀", "#", "@", "-", ".", ",", "'", " ", " ", " ", "\t"
+    };
+
+    private static final String[] SPECIAL_WORDS = {
+        "#hype", "a b", "x-y", "́", "_́", "é", "É", "talk.", "", null, "😀", "𝐀"
+    };
+
+    @Test(expected = AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false;
+    }
+
+    @Test
+    public void testWholeWordsIgnoringCase() {
+        List<Tweet> tweets = Arrays.asList(
+                new Tweet(1, "a", "Is it reasonable to talk about RIVEST so much?", d1),
+                new Tweet(2, "b", "rivest's talks in 30 minutes #hype", d1),
+                new Tweet(3, "c", "rivestian talk_ing", d1));
+        WordIndex index = new WordIndex(tweets);
+
+        assertEquals(tweets.subList(0, 2), Filter.containing(index, Arrays.asList("rivest")));
+        assertEquals(tweets.subList(0, 1), Filter.containing(index, Arrays.asList("TALK")));
+        // \b before '#' needs a word character there, so the regex finds nothing
+        assertEquals(Filter.containing(tweets, Arrays.asList("#hype")),
+                     Filter.containing(index, Arrays.asList("#hype")));
+        assertTrue(Filter.containing(index, new ArrayList<>()).isEmpty());
+    }
+
+    @Test
+    public void testMatchesRegexOnRandomCorpus() {
+        Random random = new Random(6005);
+        List<Tweet> tweets = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            StringBuilder text = new StringBuilder();
+            int pieces = random.nextInt(12);
+            for (int p = 0; p < pieces; p++) {
+                text.append(PIECES[random.nextInt(PIECES.length)]);
+            }
+            tweets.add(new Tweet(i, "u", text.toString(), d1));
+        }
+        WordIndex index = new WordIndex(tweets);
+
+        for (int q = 0; q < 2000; q++) {
+            List<String> words = new ArrayList<>();
+            int count = random.nextInt(5);
+            for (int w = 0; w < count; w++) {
+                words.add(randomWord(random));
+            }
+            assertEquals(words.toString(), Filter.containing(tweets, words), Filter.containing(index, words));
+        }
+    }
+
+    private static String randomWord(Random random) {
+        switch (random.nextInt(3)) {
+        case 0:
+            return SPECIAL_WORDS[random.nextInt(SPECIAL_WORDS.length)];
+        case 1:
+            return PIECES[random.nextInt(PIECES.length)];
+        default:
+            StringBuilder word = new StringBuilder();
+            int pieces = 1 + random.nextInt(3);
+            for (int p = 0; p < pieces; p++) {
+                word.append(PIECES[random.nextInt(12)]);
+            }
+            return word.toString();
+        }
+    }
+}